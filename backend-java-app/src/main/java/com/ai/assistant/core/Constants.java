@@ -20,11 +20,13 @@ public final class Constants {
         public static final String ROUTE_KEY = "DB_ROUTE";
         public static final String ROUTE_PRIMARY = "PRIMARY";
         public static final String ROUTE_REPLICA = "REPLICA";
+        public static final String CONSISTENCY_SESSION_KEY = "DB_CONSISTENCY_SESSION";
     }
 
     public static class AI {
         public static final Long AI_USER_ID = -1L;
         public static final String AI_FALLBACK_MESSAGE = "AI is currently unavailable. Please try again later.";
+        public static final String AI_END_TOKEN = "[DONE]";
     }
 
     public static class WebSocket {
@@ -49,6 +51,7 @@ public final class Constants {
 
     public static class Outbox {
         public static final int OUTBOX_BATCH_SIZE = 100;
+        public static final String OUTBOX_NOTIFY_CHANNEL = "outbox_event";
     }
 
     public static class Resilience {
@@ -57,7 +60,6 @@ public final class Constants {
         public static final String KAFKA_NAME = "kafka";
         public static final String WEB_CLIENT_NAME = "web-client";
         public static final String DB_NAME = "db";
-        public static final String WS_NAME = "ws";
 
         public static class Retry {
             public static final String AI_SERVICE_RETRY = "ai-service-retry";
@@ -65,7 +67,6 @@ public final class Constants {
             public static final String KAFKA_RETRY = "kafka-retry";
             public static final String WEB_CLIENT_RETRY = "web-client-retry";
             public static final String DB_RETRY = "db-retry";
-            public static final String WS_RETRY = "ws-retry";
         }
 
         public static class CircuitBreaker {
@@ -74,7 +75,6 @@ public final class Constants {
             public static final String KAFKA_CIRCUIT_BREAKER = "kafka-circuit-breaker";
             public static final String WEB_CLIENT_CIRCUIT_BREAKER = "web-client-circuit-breaker";
             public static final String DB_CIRCUIT_BREAKER = "db-circuit-breaker";
-            public static final String WS_CIRCUIT_BREAKER = "ws-circuit-breaker";
         }
 
         public static class TimeLimiter {
@@ -83,7 +83,6 @@ public final class Constants {
             public static final String KAFKA_TIME_LIMITER = "kafka-time-limiter";
             public static final String WEB_CLIENT_TIME_LIMITER = "web-client-time-limiter";
             public static final String DB_TIME_LIMITER = "db-time-limiter";
-            public static final String WS_TIME_LIMITER = "ws-time-limiter";
         }
 
         public static class Wrapper {
@@ -92,7 +91,6 @@ public final class Constants {
             public static final String KAFKA_RESILIENCE_WRAPPER = "kafka-wrapper";
             public static final String WEB_CLIENT_RESILIENCE_WRAPPER = "web-client-wrapper";
             public static final String DB_RESILIENCE_WRAPPER = "db-wrapper";
-            public static final String WS_RESILIENCE_WRAPPER = "ws-wrapper";
         }
     }
 
@@ -124,11 +122,13 @@ public final class Constants {
             public static final String GROUP = "/group";
             public static final String ACTIVE = "/active";
             public static final String NO_PROJECT = "/no-project";
+            public static final String CURSOR = "/cursor";
         }
 
             public static class Message {
                 public static final String BASE = "/{conversationId}/messages";
                 public static final String UNREAD = "/unread";
+                public static final String CURSOR = "/cursor";
             }
 
             public static class Notification {
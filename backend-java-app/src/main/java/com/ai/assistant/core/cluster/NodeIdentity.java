@@ -0,0 +1,25 @@
+package com.ai.assistant.core.cluster;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identity of this process in cross-node messages. The configured instance name is kept for
+ * readability and suffixed per start, so nodes left on the default name still tell each other apart.
+ */
+@Slf4j
+@Getter
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${instance}") String instance) {
+        this.id = instance + "-" + UUID.randomUUID().toString().substring(0, 8);
+        log.info("[node:identity] id={}", id);
+    }
+}
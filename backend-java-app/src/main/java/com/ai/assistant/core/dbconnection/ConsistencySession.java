@@ -0,0 +1,24 @@
+package com.ai.assistant.core.dbconnection;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-request read-your-writes state carried in the Reactor context. Replica reads are only served
+ * by nodes that have replayed past {@link #minLsn}; a repository write marks the request as
+ * written (see {@link WriteTrackingAspect}) so its LSN is recorded afterwards.
+ */
+@RequiredArgsConstructor
+public class ConsistencySession {
+    @Getter
+    private final long minLsn;
+    private volatile boolean written;
+
+    void markWritten() {
+        written = true;
+    }
+
+    public boolean isWritten() {
+        return written;
+    }
+}
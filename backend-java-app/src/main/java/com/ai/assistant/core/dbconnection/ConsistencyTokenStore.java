@@ -0,0 +1,59 @@
+package com.ai.assistant.core.dbconnection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Short-lived per-user Redis record of the primary's WAL position after that user's last write.
+ * Failures only cost replica offload: a missing token means no constraint, a failed read means
+ * reads stay on primary for the request.
+ */
+@Slf4j
+@Component
+public class ConsistencyTokenStore {
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final DatabaseClient databaseClient;
+    private final DataSourceProperties properties;
+
+    public ConsistencyTokenStore(ReactiveRedisTemplate<String, String> redisTemplate,
+                                 DatabaseClient databaseClient,
+                                 DataSourceProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.databaseClient = databaseClient;
+        this.properties = properties;
+    }
+
+    private String redisKey(Long userId) {
+        return "db:lsn:user:" + userId;
+    }
+
+    /** Minimum LSN the user's reads must observe; 0 when they have not written recently. */
+    public Mono<Long> minLsn(Long userId) {
+        return redisTemplate.opsForValue().get(redisKey(userId))
+                .map(PgLsn::parse)
+                .defaultIfEmpty(0L)
+                .onErrorResume(e -> {
+                    log.warn("[db:consistency:get:error] userId={} error={}", userId, e.toString());
+                    return Mono.just(Long.MAX_VALUE);
+                });
+    }
+
+    /** Stores the primary's current WAL position as the user's token. */
+    public Mono<Void> recordWrite(Long userId) {
+        String key = redisKey(userId);
+        return databaseClient.sql("SELECT pg_current_wal_lsn()::text AS lsn")
+                .map(row -> row.get("lsn", String.class))
+                .one()
+                .flatMap(lsn -> redisTemplate.opsForValue().set(key, lsn, properties.getConsistency().getTokenTtl()))
+                .doOnNext(v -> log.debug("[db:consistency:record] userId={}", userId))
+                .onErrorResume(e -> {
+                    log.warn("[db:consistency:record:error] userId={} error={}", userId, e.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -4,6 +4,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.List;
 
 @Getter
@@ -13,6 +14,8 @@ public class DataSourceProperties {
 
     private Dsn primary;
     private List<Dsn> replicas;
+    private Health health = new Health();
+    private Consistency consistency = new Consistency();
 
     @Getter
     @Setter
@@ -20,5 +23,37 @@ public class DataSourceProperties {
         private String url;
         private String username;
         private String password;
+        private Pool pool = new Pool();
+    }
+
+    @Getter
+    @Setter
+    public static class Health {
+        private Duration interval = Duration.ofSeconds(5);
+        private Duration probeTimeout = Duration.ofSeconds(2);
+        /** Replicas replaying further behind than this are skipped until they catch up. */
+        private Duration maxLag = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Consistency {
+        private boolean enabled = true;
+        /** How long a user's last write keeps pinning their reads to sufficiently caught-up nodes. */
+        private Duration tokenTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int initialSize = 2;
+        private int maxSize = 10;
+        private Duration maxIdleTime = Duration.ofMinutes(30);
+        private Duration maxLifeTime = Duration.ofHours(1);
+        private Duration maxAcquireTime = Duration.ofSeconds(5);
+        private Duration maxCreateConnectionTime = Duration.ofSeconds(5);
+        private Duration maxValidationTime = Duration.ofSeconds(2);
+        /** Run on borrow when set; otherwise only the local connection state is checked. */
+        private String validationQuery;
     }
 }
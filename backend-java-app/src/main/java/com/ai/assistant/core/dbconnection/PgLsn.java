@@ -0,0 +1,22 @@
+package com.ai.assistant.core.dbconnection;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/** Converts Postgres {@code pg_lsn} text ({@code "16/B374D848"}) to a comparable 64-bit position. */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PgLsn {
+
+    public static long parse(String lsn) {
+        if (lsn == null || lsn.isBlank()) {
+            return 0L;
+        }
+        int slash = lsn.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Malformed LSN: " + lsn);
+        }
+        long high = Long.parseLong(lsn.substring(0, slash), 16);
+        long low = Long.parseLong(lsn.substring(slash + 1), 16);
+        return (high << 32) | low;
+    }
+}
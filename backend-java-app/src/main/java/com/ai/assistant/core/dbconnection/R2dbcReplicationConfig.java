@@ -1,8 +1,14 @@
 package com.ai.assistant.core.dbconnection;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactories;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.ValidationDepth;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,7 +16,9 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
@@ -22,27 +30,17 @@ public class R2dbcReplicationConfig {
 
     @Bean
     @Primary
-    public ConnectionFactory routingConnectionFactory(DataSourceProperties props) {
-        // Build primary CF
-        DataSourceProperties.Dsn p = props.getPrimary();
-        ConnectionFactory primaryCf = ConnectionFactories.get(
-                ConnectionFactoryOptions.parse(p.getUrl())
-                        .mutate()
-                        .option(USER, p.getUsername())
-                        .option(PASSWORD, p.getPassword())
-                        .build()
-        );
+    public ReplicationRoutingConnectionFactory routingConnectionFactory(DataSourceProperties props, MeterRegistry meterRegistry) {
+        // Build primary pool
+        ConnectionFactory primaryCf = pooled(props.getPrimary(), "primary", meterRegistry);
 
-        // Build replicas CFs
-        List<ConnectionFactory> replicaCfs = props.getReplicas().stream()
-                .map(d -> ConnectionFactories.get(
-                        ConnectionFactoryOptions.parse(d.getUrl())
-                                .mutate()
-                                .option(USER, d.getUsername())
-                                .option(PASSWORD, d.getPassword())
-                                .build()
-                ))
-                .toList();
+        // Build replica pools, named replica-1..N in configuration order
+        List<DataSourceProperties.Dsn> replicas = props.getReplicas() != null ? props.getReplicas() : List.of();
+        List<ReplicaTarget> replicaCfs = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicaCfs.add(new ReplicaTarget(name, pooled(replicas.get(i), name, meterRegistry)));
+        }
 
         return new ReplicationRoutingConnectionFactory(primaryCf, replicaCfs);
     }
@@ -56,4 +54,35 @@ public class R2dbcReplicationConfig {
     public R2dbcEntityTemplate r2dbcEntityTemplate(ConnectionFactory routingConnectionFactory) {
         return new R2dbcEntityTemplate(routingConnectionFactory);
     }
+
+    private ConnectionFactory pooled(DataSourceProperties.Dsn dsn, String name, MeterRegistry meterRegistry) {
+        ConnectionFactory target = ConnectionFactories.get(
+                ConnectionFactoryOptions.parse(dsn.getUrl())
+                        .mutate()
+                        .option(USER, dsn.getUsername())
+                        .option(PASSWORD, dsn.getPassword())
+                        .build()
+        );
+
+        DataSourceProperties.Pool settings = dsn.getPool();
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(target)
+                .name(name)
+                .initialSize(settings.getInitialSize())
+                .maxSize(settings.getMaxSize())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .maxAcquireTime(settings.getMaxAcquireTime())
+                .maxCreateConnectionTime(settings.getMaxCreateConnectionTime())
+                .maxValidationTime(settings.getMaxValidationTime());
+        if (StringUtils.hasText(settings.getValidationQuery())) {
+            builder.validationQuery(settings.getValidationQuery());
+        } else {
+            builder.validationDepth(ValidationDepth.LOCAL);
+        }
+
+        ConnectionPool pool = new ConnectionPool(builder.build());
+        // r2dbc.pool.acquired / idle / pending / allocated, tagged name=<pool>
+        new ConnectionPoolMetrics(pool, name, Tags.empty()).bindTo(meterRegistry);
+        return new MeteredConnectionPool(pool, name, meterRegistry);
+    }
 }
@@ -0,0 +1,77 @@
+package com.ai.assistant.core.dbconnection;
+
+import com.ai.assistant.security.context.SecurityUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static com.ai.assistant.core.Constants.DBReplication.CONSISTENCY_SESSION_KEY;
+import static com.ai.assistant.core.Constants.JWT.CLAIM_USER_ID;
+
+/**
+ * Gives each authenticated request a {@link ConsistencySession} seeded from the user's last write
+ * token. If the request wrote through a repository, the new WAL position is stored before the
+ * response is committed, so the client's next read cannot overtake it. WebSocket upgrades get no
+ * session. Runs after the security filter chain.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadYourWritesWebFilter implements WebFilter {
+
+    private final ConsistencyTokenStore tokenStore;
+    private final DataSourceProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // a WebSocket session would otherwise carry the handshake's session for its whole life
+        if (!properties.getConsistency().isEnabled() || isWebSocketUpgrade(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        return currentUserId()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(userId -> {
+                    if (userId.isEmpty()) {
+                        return chain.filter(exchange);
+                    }
+                    return tokenStore.minLsn(userId.get())
+                            .flatMap(minLsn -> {
+                                ConsistencySession session = new ConsistencySession(minLsn);
+                                exchange.getResponse().beforeCommit(() -> session.isWritten()
+                                        ? tokenStore.recordWrite(userId.get())
+                                        : Mono.empty());
+                                return chain.filter(exchange)
+                                        .contextWrite(ctx -> ctx.put(CONSISTENCY_SESSION_KEY, session));
+                            });
+                });
+    }
+
+    private static boolean isWebSocketUpgrade(ServerWebExchange exchange) {
+        return "websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade());
+    }
+
+    private Mono<Long> currentUserId() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .mapNotNull(auth -> {
+                    if (auth instanceof JwtAuthenticationToken jwtAuth) {
+                        return jwtAuth.getToken().<Long>getClaim(CLAIM_USER_ID);
+                    }
+                    if (auth.getPrincipal() instanceof SecurityUser user) {
+                        return user.getUserId();
+                    }
+                    return null;
+                });
+    }
+}
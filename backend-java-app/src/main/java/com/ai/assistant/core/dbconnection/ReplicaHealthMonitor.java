@@ -0,0 +1,121 @@
+package com.ai.assistant.core.dbconnection;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+
+/**
+ * Probes every replica for reachability and replay lag so routing can skip nodes that are down or
+ * too far behind. Lag is the age of the last replayed transaction, except for a replica that has
+ * replayed up to the primary's current WAL position sampled just before: that one counts as zero
+ * lag, so an idle primary does not make healthy replicas look stale. Comparing against the primary
+ * rather than the replica's own receive position keeps a replica whose WAL receiver dropped off
+ * from looking caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplicaHealthMonitor {
+
+    private static final String PRIMARY_LSN_QUERY = "SELECT pg_current_wal_lsn()::text AS lsn";
+
+    private static final String REPLICA_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END::float8 AS replay_age_seconds,
+                   CASE
+                       WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn()
+                       ELSE pg_current_wal_lsn()
+                   END::text AS replay_lsn
+            """;
+
+    private final ReplicationRoutingConnectionFactory routingConnectionFactory;
+    private final DataSourceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void registerMetrics() {
+        for (ReplicaTarget replica : routingConnectionFactory.getReplicas()) {
+            Gauge.builder("db.replica.lag", replica, ReplicaTarget::getLagSeconds)
+                    .description("Replay lag observed by the last health probe")
+                    .baseUnit("seconds")
+                    .tag("name", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("Whether the replica is eligible for read routing")
+                    .tag("name", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.health.interval:PT5S}")
+    public Mono<Void> probe() {
+        return primaryLsn()
+                .flatMapMany(primaryLsn -> Flux.fromIterable(routingConnectionFactory.getReplicas())
+                        .flatMap(replica -> probe(replica, primaryLsn)))
+                .then();
+    }
+
+    /** Long.MAX_VALUE when the primary cannot be read, so no replica is taken as caught up. */
+    private Mono<Long> primaryLsn() {
+        return query(routingConnectionFactory.getPrimary(), PRIMARY_LSN_QUERY,
+                        (row, meta) -> PgLsn.parse(row.get("lsn", String.class)))
+                .onErrorResume(e -> {
+                    log.warn("[db:replica:health] primary lsn unavailable error={}", e.toString());
+                    return Mono.just(Long.MAX_VALUE);
+                });
+    }
+
+    private Mono<Void> probe(ReplicaTarget replica, long primaryLsn) {
+        DataSourceProperties.Health health = properties.getHealth();
+        double maxLagSeconds = health.getMaxLag().toMillis() / 1000d;
+
+        return query(replica.getConnectionFactory(), REPLICA_QUERY, (row, meta) -> {
+                    long replayedLsn = PgLsn.parse(row.get("replay_lsn", String.class));
+                    Double age = row.get("replay_age_seconds", Double.class);
+                    double lag = replayedLsn >= primaryLsn ? 0d : (age != null ? age : 0d);
+                    return new Probe(lag, replayedLsn);
+                })
+                .doOnNext(probe -> {
+                    boolean wasHealthy = replica.isHealthy();
+                    boolean withinLag = probe.lagSeconds() <= maxLagSeconds;
+                    replica.markProbed(probe.lagSeconds(), probe.replayedLsn(), withinLag);
+                    if (wasHealthy != withinLag) {
+                        log.info("[db:replica:health] replica={} healthy={} lagSeconds={}", replica.getName(), withinLag, probe.lagSeconds());
+                    }
+                })
+                .onErrorResume(e -> {
+                    if (replica.isHealthy()) {
+                        log.warn("[db:replica:health] replica={} unreachable error={}", replica.getName(), e.toString());
+                    }
+                    replica.markDown();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private <T> Mono<T> query(ConnectionFactory target, String sql, BiFunction<Row, RowMetadata, T> mapper) {
+        return Mono.usingWhen(
+                        Mono.<Connection>from(target.create()),
+                        connection -> Mono.from(connection.createStatement(sql).execute())
+                                .flatMap(result -> Mono.from(result.map(mapper))),
+                        Connection::close)
+                .timeout(properties.getHealth().getProbeTimeout());
+    }
+
+    private record Probe(double lagSeconds, long replayedLsn) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.ai.assistant.core.dbconnection;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** A replica pool plus the health state {@link ReplicaHealthMonitor} last observed for it. */
+@Getter
+@RequiredArgsConstructor
+public class ReplicaTarget {
+    private final String name;
+    private final ConnectionFactory connectionFactory;
+
+    // optimistic until the first probe completes
+    private volatile boolean healthy = true;
+    private volatile double lagSeconds;
+    private volatile long replayedLsn;
+
+    int inFlight() {
+        return connectionFactory instanceof MeteredConnectionPool pool ? pool.acquired() : 0;
+    }
+
+    void markProbed(double lagSeconds, long replayedLsn, boolean withinLag) {
+        this.lagSeconds = lagSeconds;
+        this.replayedLsn = replayedLsn;
+        this.healthy = withinLag;
+    }
+
+    void markDown() {
+        this.healthy = false;
+    }
+}
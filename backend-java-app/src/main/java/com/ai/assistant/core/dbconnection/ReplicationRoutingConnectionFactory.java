@@ -1,38 +1,116 @@
 package com.ai.assistant.core.dbconnection;
 
+import io.r2dbc.spi.Closeable;
 import io.r2dbc.spi.Connection;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.pool.PoolAcquirePendingLimitException;
 
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.ai.assistant.core.Constants.DBReplication.CONSISTENCY_SESSION_KEY;
 import static com.ai.assistant.core.Constants.DBReplication.ROUTE_KEY;
 import static com.ai.assistant.core.Constants.DBReplication.ROUTE_PRIMARY;
 import static com.ai.assistant.core.Constants.DBReplication.ROUTE_REPLICA;
 
+/**
+ * Routes read-only work to the healthy replica with the fewest connections in use, rotating the
+ * starting point so equally loaded replicas share traffic. Falls back to primary when no replica
+ * is healthy or the chosen one fails to hand out a connection; a connect error marks that replica
+ * down, while an acquire timeout on a saturated pool only sends this one request to primary. When the context carries a
+ * {@link ConsistencySession}, only replicas that have replayed past its LSN are eligible.
+ */
+@Slf4j
 @RequiredArgsConstructor
-public class ReplicationRoutingConnectionFactory implements ConnectionFactory {
+public class ReplicationRoutingConnectionFactory implements ConnectionFactory, Closeable {
+    @Getter
     private final ConnectionFactory primary;
-    private final List<ConnectionFactory> replicas;
+    @Getter
+    private final List<ReplicaTarget> replicas;
     private final AtomicInteger replicaIdx = new AtomicInteger();
 
     @Override
     public Publisher<? extends Connection> create() {
         return Mono.deferContextual(ctx -> {
             String route = ctx.getOrDefault(ROUTE_KEY, ROUTE_PRIMARY);
-            ConnectionFactory target = ROUTE_REPLICA.equals(route) && !replicas.isEmpty()
-                    ? replicas.get(replicaIdx.getAndIncrement() % replicas.size())
-                    : primary;
-            return Mono.from(target.create());
+            if (!ROUTE_REPLICA.equals(route)) {
+                return Mono.from(primary.create());
+            }
+
+            ConsistencySession session = ctx.getOrDefault(CONSISTENCY_SESSION_KEY, null);
+            long minLsn = session != null ? session.getMinLsn() : 0L;
+            ReplicaTarget target = pickReplica(minLsn);
+            if (target == null) {
+                log.debug("[db:route:fallback] no healthy replica at lsn>={}, using primary", minLsn);
+                return Mono.from(primary.create());
+            }
+            return Mono.<Connection>from(target.getConnectionFactory().create())
+                    .onErrorResume(e -> {
+                        if (isSaturated(e)) {
+                            log.debug("[db:route:replica:busy] replica={} pool saturated, using primary error={}", target.getName(), e.toString());
+                        } else {
+                            target.markDown();
+                            log.warn("[db:route:replica:error] replica={} marked down, using primary error={}", target.getName(), e.toString());
+                        }
+                        return Mono.from(primary.create());
+                    });
         });
     }
 
+    private ReplicaTarget pickReplica(long minLsn) {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(replicaIdx.getAndIncrement(), size);
+        ReplicaTarget best = null;
+        int bestInFlight = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            ReplicaTarget candidate = replicas.get((start + i) % size);
+            if (!candidate.isHealthy() || candidate.getReplayedLsn() < minLsn) {
+                continue;
+            }
+            int inFlight = candidate.inFlight();
+            if (inFlight < bestInFlight) {
+                best = candidate;
+                bestInFlight = inFlight;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * An acquire that timed out or hit the pending limit means the replica's pool is busy, not that
+     * the replica is gone; only connect errors take it out of rotation until the next probe.
+     */
+    private static boolean isSaturated(Throwable e) {
+        return e instanceof R2dbcTimeoutException
+                || e instanceof TimeoutException
+                || e instanceof PoolAcquirePendingLimitException;
+    }
+
     @Override
     public ConnectionFactoryMetadata getMetadata() {
         return primary.getMetadata();
     }
+
+    /** Closes the pooled targets when the context shuts down. */
+    @Override
+    public Publisher<Void> close() {
+        return Flux.concat(replicas.stream().map(replica -> closeTarget(replica.getConnectionFactory())).toList())
+                .then(closeTarget(primary));
+    }
+
+    private static Mono<Void> closeTarget(ConnectionFactory target) {
+        return target instanceof Closeable closeable ? Mono.from(closeable.close()) : Mono.empty();
+    }
 }
@@ -0,0 +1,57 @@
+package com.ai.assistant.core.dbconnection;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import static com.ai.assistant.core.Constants.DBReplication.CONSISTENCY_SESSION_KEY;
+
+/**
+ * Marks the request's {@link ConsistencySession} as written when a repository write method is
+ * subscribed, so only requests that actually changed data pay for recording a new WAL token.
+ */
+@Aspect
+@Component
+public class WriteTrackingAspect {
+
+    @Pointcut("execution(* org.springframework.data.repository.reactive.ReactiveCrudRepository+.save*(..))"
+            + " || execution(* org.springframework.data.repository.reactive.ReactiveCrudRepository+.delete*(..))")
+    void crudWrite() { }
+
+    @Pointcut("execution(* com.ai.assistant.persistence.relational.repository..*.insert*(..))"
+            + " || execution(* com.ai.assistant.persistence.relational.repository..*.update*(..))"
+            + " || execution(* com.ai.assistant.persistence.relational.repository..*.delete*(..))"
+            + " || execution(* com.ai.assistant.persistence.relational.repository..*.softDelete*(..))")
+    void customWrite() { }
+
+    @Around("crudWrite() || customWrite()")
+    public Object markWrite(ProceedingJoinPoint pjp) throws Throwable {
+        Object ret = pjp.proceed();
+
+        if (ret instanceof Mono<?> mono) {
+            return Mono.deferContextual(ctx -> {
+                markWritten(ctx);
+                return mono;
+            });
+        }
+        if (ret instanceof Flux<?> flux) {
+            return Flux.deferContextual(ctx -> {
+                markWritten(ctx);
+                return flux;
+            });
+        }
+        return ret;
+    }
+
+    private static void markWritten(ContextView ctx) {
+        ConsistencySession session = ctx.getOrDefault(CONSISTENCY_SESSION_KEY, null);
+        if (session != null) {
+            session.markWritten();
+        }
+    }
+}
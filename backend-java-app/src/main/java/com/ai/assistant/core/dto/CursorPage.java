@@ -0,0 +1,12 @@
+package com.ai.assistant.core.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items      rows of the page
+ * @param nextCursor opaque cursor for the following page, {@code null} on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
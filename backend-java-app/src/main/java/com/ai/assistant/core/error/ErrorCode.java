@@ -157,6 +157,13 @@ public enum ErrorCode {
             HttpStatus.INTERNAL_SERVER_ERROR,
             "Could not publish message to kafka: %s",
             "Unexpected error occurred. Please try again later."
+    ),
+
+    INVALID_CURSOR(
+            "E-0023",
+            HttpStatus.BAD_REQUEST,
+            "Invalid pagination cursor '%s'",
+            "The pagination cursor is invalid."
     );
 
 
@@ -0,0 +1,36 @@
+package com.ai.assistant.core.pagination;
+
+import com.ai.assistant.core.error.ApplicationException;
+import com.ai.assistant.core.error.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by (timestamp, id). Exposed to clients only
+ * as an opaque URL-safe token.
+ */
+public record KeysetCursor(Instant timestamp, Long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + SEPARATOR + timestamp.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(timestamp, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new ApplicationException(ErrorCode.INVALID_CURSOR, e, token);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ai.assistant.core.pagination;
+
+import com.ai.assistant.core.error.ApplicationException;
+import com.ai.assistant.core.error.ErrorCode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/** Bounds for client-supplied keyset page sizes. */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageSize {
+
+    public static final int MAX = 100;
+
+    /** Rejects sizes below one and caps larger ones at {@link #MAX}. */
+    public static int checked(int size) {
+        if (size < 1) {
+            throw new ApplicationException(ErrorCode.INVALID_INPUT, "size must be at least 1 but was " + size);
+        }
+        return Math.min(size, MAX);
+    }
+}
@@ -0,0 +1,6 @@
+package com.ai.assistant.enums;
+
+public enum OutboxArchiveMode {
+    DETACH,
+    DROP
+}
@@ -0,0 +1,11 @@
+package com.ai.assistant.enums;
+
+/** What a session outbound does when its client falls a full buffer behind. */
+public enum WebSocketOverflowPolicy {
+    /** Joins the queued frames with the new one; only valid for the AI token stream, whose frames are raw text. */
+    BATCH,
+    /** Silently discards the oldest queued frame; the client is not told it missed anything. */
+    DROP_OLDEST,
+    /** Closes the session so the client reconnects and resyncs from the API. */
+    ERROR
+}
@@ -0,0 +1,8 @@
+package com.ai.assistant.enums;
+
+public enum WriteBehindDurability {
+    /** Caller continues once the message is queued; a crash loses whatever has not been flushed. */
+    QUEUED,
+    /** Caller waits until the batch holding its message is committed. */
+    FLUSHED
+}
@@ -0,0 +1,99 @@
+package com.ai.assistant.external.ai.codec;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stateful UTF-8 decoder for chunked streams. Decodes straight from the buffer's
+ * {@link ByteBuffer} view and carries an incomplete trailing code point over to the next chunk.
+ * Not thread-safe; use one instance per stream.
+ */
+public final class StreamingUtf8Decoder {
+
+    private static final int MAX_CODE_POINT_BYTES = 4;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer carry = ByteBuffer.allocate(MAX_CODE_POINT_BYTES);
+    private CharBuffer chars = CharBuffer.allocate(256);
+
+    /** Decodes a stream of buffers, releasing each one once consumed. */
+    public static Flux<String> decode(Flux<DataBuffer> buffers) {
+        return Flux.defer(() -> {
+            StreamingUtf8Decoder decoder = new StreamingUtf8Decoder();
+            return buffers
+                    .<String>handle((buffer, sink) -> {
+                        try {
+                            String text = decoder.decode(buffer);
+                            if (!text.isEmpty()) {
+                                sink.next(text);
+                            }
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(decoder::finish).filter(text -> !text.isEmpty()))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    public String decode(DataBuffer buffer) {
+        chars.clear();
+        try (DataBuffer.ByteBufferIterator it = buffer.readableByteBuffers()) {
+            while (it.hasNext()) {
+                decode(it.next());
+            }
+        }
+        chars.flip();
+        return chars.toString();
+    }
+
+    /** Flushes any dangling bytes left at end of stream as replacement characters. */
+    public String finish() {
+        chars.clear();
+        carry.flip();
+        ensureCapacity(carry.remaining() + 1);
+        decoder.decode(carry, chars, true);
+        decoder.flush(chars);
+        carry.clear();
+        decoder.reset();
+        chars.flip();
+        return chars.toString();
+    }
+
+    private void decode(ByteBuffer in) {
+        ensureCapacity(carry.position() + in.remaining());
+
+        // complete the code point left over from the previous chunk one byte at a time
+        while (carry.position() > 0 && in.hasRemaining()) {
+            carry.put(in.get());
+            carry.flip();
+            decoder.decode(carry, chars, false);
+            carry.compact();
+        }
+
+        decoder.decode(in, chars, false);
+        if (in.hasRemaining()) {
+            carry.put(in);
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (chars.remaining() >= additional) {
+            return;
+        }
+        CharBuffer grown = CharBuffer.allocate(Math.max(chars.capacity() * 2, chars.position() + additional));
+        chars.flip();
+        grown.put(chars);
+        chars = grown;
+    }
+}
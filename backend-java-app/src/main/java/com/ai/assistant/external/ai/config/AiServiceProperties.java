@@ -4,9 +4,39 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "app.ai")
 public class AiServiceProperties {
     private String baseUrl;
+    private Stream stream = new Stream();
+    private Response response = new Response();
+    private Context context = new Context();
+
+    /** Coalescing of decoded token chunks before they are forwarded. */
+    @Getter
+    @Setter
+    public static class Stream {
+        private int coalesceMaxChunks = 16;
+        private Duration coalesceMaxDelay = Duration.ofMillis(30);
+    }
+
+    /** Limits for the accumulated AI reply that gets persisted. */
+    @Getter
+    @Setter
+    public static class Response {
+        private int initialCapacity = 2048;
+        private int maxLength = 200_000;
+    }
+
+    /** Token budget for the history and project files sent with a prompt. */
+    @Getter
+    @Setter
+    public static class Context {
+        private int maxTokens = 12_000;
+        private int maxHistoryTokens = 3_000;
+        private int charsPerToken = 4;
+    }
 }
@@ -0,0 +1,123 @@
+package com.ai.assistant.external.ai.context;
+
+import com.ai.assistant.external.ai.config.AiServiceProperties;
+import com.ai.assistant.external.ai.dto.AiServiceRequest.ChatMessage;
+import com.ai.assistant.usecase.service.ProjectFileService.FileContent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Packs chat history and project files into the configured token budget. Tokens are estimated
+ * from character counts; files are ranked by how many prompt terms they mention.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PromptContextBuilder {
+
+    private static final Pattern TERM_SPLIT = Pattern.compile("[^\\p{L}\\p{N}_]+");
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int PATH_MATCH_WEIGHT = 5;
+
+    private final AiServiceProperties properties;
+
+    public PromptContext build(String prompt, List<ChatMessage> history, List<FileContent> files) {
+        AiServiceProperties.Context limits = properties.getContext();
+        int remaining = limits.getMaxTokens() - estimateTokens(prompt);
+
+        List<ChatMessage> packedHistory = packHistory(history, Math.min(remaining, limits.getMaxHistoryTokens()));
+        for (ChatMessage message : packedHistory) {
+            remaining -= estimateTokens(message.content());
+        }
+
+        List<String> packedFiles = packFiles(prompt, files, remaining);
+        log.debug("[ai:context:packed] history={}/{} files={}/{}",
+                packedHistory.size(), history.size(), packedFiles.size(), files.size());
+        return new PromptContext(packedHistory, packedFiles);
+    }
+
+    /** Keeps the newest messages that fit; history is ordered oldest first. */
+    private List<ChatMessage> packHistory(List<ChatMessage> history, int budget) {
+        int start = history.size();
+        while (start > 0) {
+            int tokens = estimateTokens(history.get(start - 1).content());
+            if (tokens > budget) {
+                break;
+            }
+            budget -= tokens;
+            start--;
+        }
+        return List.copyOf(history.subList(start, history.size()));
+    }
+
+    private List<String> packFiles(String prompt, List<FileContent> files, int budget) {
+        Set<String> terms = terms(prompt);
+        List<RankedFile> ranked = new ArrayList<>(files.size());
+        for (FileContent file : files) {
+            String entry = "### " + file.path() + "\n" + file.content();
+            ranked.add(new RankedFile(entry, score(terms, file), estimateTokens(entry)));
+        }
+        ranked.sort(Comparator.comparingInt(RankedFile::score).reversed()
+                .thenComparingInt(RankedFile::tokens));
+
+        List<String> packed = new ArrayList<>();
+        for (RankedFile file : ranked) {
+            if (file.tokens() <= budget) {
+                packed.add(file.entry());
+                budget -= file.tokens();
+            }
+        }
+        return packed;
+    }
+
+    private int score(Set<String> terms, FileContent file) {
+        String path = file.path().toLowerCase(Locale.ROOT);
+        String content = file.content().toLowerCase(Locale.ROOT);
+        int score = 0;
+        for (String term : terms) {
+            if (path.contains(term)) {
+                score += PATH_MATCH_WEIGHT;
+            }
+            if (content.contains(term)) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    private Set<String> terms(String prompt) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (prompt == null) {
+            return terms;
+        }
+        for (String term : TERM_SPLIT.split(prompt.toLowerCase(Locale.ROOT))) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int charsPerToken = properties.getContext().getCharsPerToken();
+        return (text.length() + charsPerToken - 1) / charsPerToken;
+    }
+
+    public record PromptContext(List<ChatMessage> history, List<String> projectFiles) {
+    }
+
+    private record RankedFile(String entry, int score, int tokens) {
+    }
+}
@@ -5,6 +5,7 @@ import com.ai.assistant.enums.MessageType;
 import com.ai.assistant.enums.RecipientType;
 import com.ai.assistant.enums.WebSocketChannelType;
 import com.ai.assistant.event.MessageEvent;
+import com.ai.assistant.external.ai.config.AiServiceProperties;
 import com.ai.assistant.external.ai.service.AiMessageOrchestrator;
 import com.ai.assistant.external.ai.service.AiStreamingService;
 import com.ai.assistant.external.websocket.dispatcher.WebSocketSinkDispatcher;
@@ -26,8 +27,8 @@ import reactor.core.publisher.Flux;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import static com.ai.assistant.core.Constants.AI.AI_END_TOKEN;
 import static com.ai.assistant.core.Constants.AI.AI_FALLBACK_MESSAGE;
 import static com.ai.assistant.core.Constants.AI.AI_USER_ID;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.AI_SERVICE_RESILIENCE_WRAPPER;
@@ -36,8 +37,7 @@ import static com.ai.assistant.core.Constants.Resilience.Wrapper.AI_SERVICE_RESI
 @Service
 public class AiMessageOrchestratorImpl implements AiMessageOrchestrator {
 
-    private static final String END_TOKEN = "[DONE]";
-
+    private final AiServiceProperties properties;
     private final AiStreamingService aiStreamingService;
     private final WebSocketSinkDispatcher wsDispatcher;
     private final ResilienceWrapper resilience;
@@ -46,13 +46,15 @@ public class AiMessageOrchestratorImpl implements AiMessageOrchestrator {
     private final SystemNotificationService systemNotificationService;
     private final ConversationRepository conversationRepository;
 
-    public AiMessageOrchestratorImpl(AiStreamingService aiStreamingService,
+    public AiMessageOrchestratorImpl(AiServiceProperties properties,
+                                     AiStreamingService aiStreamingService,
                                      @Lazy WebSocketSinkDispatcher wsDispatcher,
                                      @Qualifier(AI_SERVICE_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
                                      MessageService messageService,
                                      NotificationService notificationService,
                                      SystemNotificationService systemNotificationService,
                                      ConversationRepository conversationRepository) {
+        this.properties = properties;
         this.aiStreamingService = aiStreamingService;
         this.wsDispatcher = wsDispatcher;
         this.resilience = resilience;
@@ -88,14 +90,9 @@ public class AiMessageOrchestratorImpl implements AiMessageOrchestrator {
                                         aiStreamingService.streamAiResponse(conversationId, conv.getProjectId())
                                 );
 
-                                return tokenFlux
-                                        .flatMap(token -> wsDispatcher
-                                                .sendWithoutReadyCheck(WebSocketChannelType.AI_TOKEN_STREAM, wsContext, token)
-                                                .thenReturn(token))
-                                        .collectList()
-                                        .map(tokens -> tokens.stream()
-                                                .filter(t -> !END_TOKEN.equals(t))
-                                                .collect(Collectors.joining()))
+                                return wsDispatcher.streamTokens(wsContext, tokenFlux)
+                                        .reduceWith(this::newAccumulator, this::accumulate)
+                                        .map(StringBuilder::toString)
                                         .flatMap(fullMessage -> {
                                             MessageEvent finalEvent = MessageEvent.builder()
                                                     .messageId(UUID.randomUUID())
@@ -126,7 +123,7 @@ public class AiMessageOrchestratorImpl implements AiMessageOrchestrator {
                                                     .doOnError(e -> log.warn("[ai:response:stop-error]", e))
                                                     .subscribe();
                                             wsDispatcher
-                                                    .sendWithoutReadyCheck(WebSocketChannelType.AI_TOKEN_STREAM, wsContext, END_TOKEN)
+                                                    .sendWithoutReadyCheck(WebSocketChannelType.AI_TOKEN_STREAM, wsContext, AI_END_TOKEN)
                                                     .doOnError(e -> log.warn("[ai:response:end-token] Failed to send", e))
                                                     .subscribe();
                                         });
@@ -136,4 +133,26 @@ public class AiMessageOrchestratorImpl implements AiMessageOrchestrator {
         );
     }
 
+    private StringBuilder newAccumulator() {
+        AiServiceProperties.Response limits = properties.getResponse();
+        return new StringBuilder(Math.min(limits.getInitialCapacity(), limits.getMaxLength()));
+    }
+
+    /** Appends a token, dropping the end sentinel and truncating at the configured max length. */
+    private StringBuilder accumulate(StringBuilder acc, String token) {
+        int maxLength = properties.getResponse().getMaxLength();
+        if (acc.length() >= maxLength) {
+            return acc;
+        }
+        int end = token.endsWith(AI_END_TOKEN) ? token.length() - AI_END_TOKEN.length() : token.length();
+        int room = maxLength - acc.length();
+        if (end > room) {
+            log.warn("[ai:response:truncate] AI reply exceeded {} chars, truncating", maxLength);
+            end = room;
+            if (end > 0 && Character.isHighSurrogate(token.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return acc.append(token, 0, end);
+    }
 }
@@ -1,16 +1,21 @@
 package com.ai.assistant.external.ai.service.impl;
 
+import com.ai.assistant.external.ai.codec.StreamingUtf8Decoder;
 import com.ai.assistant.external.ai.config.AiServiceProperties;
+import com.ai.assistant.external.ai.context.PromptContextBuilder;
+import com.ai.assistant.external.ai.context.PromptContextBuilder.PromptContext;
 import com.ai.assistant.external.ai.dto.AiServiceRequest;
 import com.ai.assistant.external.ai.dto.AiServiceRequest.ChatMessage;
 import com.ai.assistant.external.ai.service.AiStreamingService;
 import com.ai.assistant.usecase.service.MessageService;
 import com.ai.assistant.usecase.service.ProjectFileService;
+import com.ai.assistant.usecase.service.ProjectFileService.FileContent;
 import com.ai.assistant.usecase.service.ProjectSelectedFileService;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -21,9 +26,11 @@ import reactor.util.function.Tuples;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+import static com.ai.assistant.core.Constants.AI.AI_END_TOKEN;
 import static com.ai.assistant.core.Constants.AI.AI_USER_ID;
 import com.ai.assistant.enums.MessageType;
 
@@ -39,6 +46,7 @@ public class AiStreamingServiceImpl implements AiStreamingService {
     private final MessageService messageService;
     private final ProjectFileService projectFileService;
     private final ProjectSelectedFileService selectedFileService;
+    private final PromptContextBuilder contextBuilder;
     private final ResilienceWrapper resilience;
     private final Integer chatHistoryCount;
 
@@ -47,6 +55,7 @@ public class AiStreamingServiceImpl implements AiStreamingService {
                                   MessageService messageService,
                                   ProjectFileService projectFileService,
                                   ProjectSelectedFileService selectedFileService,
+                                  PromptContextBuilder contextBuilder,
                                   @Qualifier(WEB_CLIENT_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
                                   @Value("${app.chat.history.count}") Integer chatHistoryCount) {
         this.properties = properties;
@@ -54,6 +63,7 @@ public class AiStreamingServiceImpl implements AiStreamingService {
         this.messageService = messageService;
         this.projectFileService = projectFileService;
         this.selectedFileService = selectedFileService;
+        this.contextBuilder = contextBuilder;
         this.resilience = resilience;
         this.chatHistoryCount = chatHistoryCount;
     }
@@ -76,11 +86,12 @@ public class AiStreamingServiceImpl implements AiStreamingService {
                         })
                         .collectList();
 
-        Mono<List<String>> filesMono = projectId != null
+        Mono<List<FileContent>> filesMono = projectId != null
                 ? selectedFileService.fetchSelectedFiles(projectId)
-                    .flatMap(list -> list.isEmpty()
-                            ? projectFileService.readFiles(projectId)
-                            : projectFileService.readFiles(projectId, list))
+                    .flatMap(list -> (list.isEmpty()
+                            ? projectFileService.streamPromptFiles(projectId)
+                            : projectFileService.streamFiles(projectId, list))
+                            .collectList())
                 : Mono.just(List.of());
 
         Mono<String> corrIdMono = Mono.deferContextual(ctx -> Mono.just(Objects.requireNonNull(ctx.getOrDefault(CONTEXT_CORRELATION_KEY, ""))));
@@ -95,26 +106,16 @@ public class AiStreamingServiceImpl implements AiStreamingService {
                 .map(t -> {
                     List<ChatMessage> history = t.getT1();
                     java.util.Collections.reverse(history);
-                    AiServiceRequest req;
-                    if (history.isEmpty()) {
-                        req = AiServiceRequest.builder()
-                                .conversationId(conversationId)
-                                .prompt("")
-                                .chatHistory(List.of())
-                                .projectFiles(t.getT2())
-                                .correlationId(t.getT3())
-                                .build();
-                    } else {
-                        ChatMessage last = history.removeLast();
-
-                        req = AiServiceRequest.builder()
-                                .conversationId(conversationId)
-                                .prompt(last.content())
-                                .chatHistory(history)
-                                .projectFiles(t.getT2())
-                                .correlationId(t.getT3())
-                                .build();
-                    }
+                    String prompt = history.isEmpty() ? "" : history.removeLast().content();
+                    PromptContext context = contextBuilder.build(prompt, history, t.getT2());
+
+                    AiServiceRequest req = AiServiceRequest.builder()
+                            .conversationId(conversationId)
+                            .prompt(prompt)
+                            .chatHistory(context.history())
+                            .projectFiles(context.projectFiles())
+                            .correlationId(t.getT3())
+                            .build();
                     return Tuples.of(req, t.getT4());
                 })
                 .flatMapMany(tuple -> resilience.wrap(
@@ -128,18 +129,42 @@ public class AiStreamingServiceImpl implements AiStreamingService {
                                 })
                                 .bodyValue(tuple.getT1())
                                 .retrieve()
-                                .bodyToFlux(org.springframework.core.io.buffer.DataBuffer.class)
-                                .map(dataBuffer -> {
-                                    byte[] bytes = new byte[dataBuffer.readableByteCount()];
-                                    dataBuffer.read(bytes);
-                                    org.springframework.core.io.buffer.DataBufferUtils.release(dataBuffer);
-                                    return new String(bytes, java.nio.charset.StandardCharsets.UTF_8);
-                                })
+                                .bodyToFlux(DataBuffer.class)
+                                .transform(StreamingUtf8Decoder::decode)
+                                .transform(this::coalesce)
                 )
                         .doOnSubscribe(s -> log.debug("[ai:stream:request] POST {}{}", properties.getBaseUrl(), "/generate"))
                         .doOnError(e -> log.error("[ai:stream:error] Failed to reach AI service", e)));
     }
 
+    /**
+     * Merges bursts of small chunks into a single token frame. The end token is always
+     * emitted on its own so downstream consumers can still recognise it.
+     */
+    private Flux<String> coalesce(Flux<String> chunks) {
+        AiServiceProperties.Stream stream = properties.getStream();
+        if (stream.getCoalesceMaxChunks() <= 1 || stream.getCoalesceMaxDelay().isZero()) {
+            return chunks;
+        }
+        return chunks
+                .bufferTimeout(stream.getCoalesceMaxChunks(), stream.getCoalesceMaxDelay())
+                .concatMapIterable(batch -> {
+                    int end = batch.size();
+                    boolean finished = AI_END_TOKEN.equals(batch.getLast());
+                    if (finished) {
+                        end--;
+                    }
+                    List<String> out = new ArrayList<>(2);
+                    if (end > 0) {
+                        out.add(end == 1 ? batch.getFirst() : String.join("", batch.subList(0, end)));
+                    }
+                    if (finished) {
+                        out.add(AI_END_TOKEN);
+                    }
+                    return out;
+                });
+    }
+
     @Override
     public Mono<Void> stopStreaming(Long conversationId) {
         return ReactiveSecurityContextHolder.getContext()
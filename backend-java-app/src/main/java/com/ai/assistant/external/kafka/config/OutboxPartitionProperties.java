@@ -0,0 +1,17 @@
+package com.ai.assistant.external.kafka.config;
+
+import com.ai.assistant.enums.OutboxArchiveMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox.partition")
+public class OutboxPartitionProperties {
+    private int premakeDays = 3;
+    private Duration retention = Duration.ofDays(7);
+    private OutboxArchiveMode archiveMode = OutboxArchiveMode.DROP;
+}
@@ -0,0 +1,9 @@
+package com.ai.assistant.external.kafka.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({OutboxRelayProperties.class, OutboxPartitionProperties.class})
+public class OutboxRelayConfig {
+}
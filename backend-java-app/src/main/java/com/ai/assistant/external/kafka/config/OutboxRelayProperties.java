@@ -0,0 +1,29 @@
+package com.ai.assistant.external.kafka.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+import static com.ai.assistant.core.Constants.Outbox.OUTBOX_BATCH_SIZE;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.outbox.relay")
+public class OutboxRelayProperties {
+    private int batchSize = OUTBOX_BATCH_SIZE;
+    private int maxInFlight = 16;
+    private Duration lease = Duration.ofSeconds(30);
+    private Duration minDelay = Duration.ofMillis(50);
+    private Duration maxDelay = Duration.ofSeconds(2);
+    private Notify notify = new Notify();
+
+    @Getter
+    @Setter
+    public static class Notify {
+        private boolean enabled = false;
+        private Duration reconnectDelay = Duration.ofSeconds(1);
+        private Duration maxReconnectDelay = Duration.ofSeconds(30);
+    }
+}
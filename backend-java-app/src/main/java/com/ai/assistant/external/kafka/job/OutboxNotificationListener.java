@@ -0,0 +1,89 @@
+package com.ai.assistant.external.kafka.job;
+
+import com.ai.assistant.core.dbconnection.DataSourceProperties;
+import com.ai.assistant.external.kafka.config.OutboxRelayProperties;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Result;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import static com.ai.assistant.core.Constants.Outbox.OUTBOX_NOTIFY_CHANNEL;
+import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
+import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
+
+/**
+ * Wakes the {@link OutboxProcessor} as soon as an outbox row is committed. Holds one dedicated
+ * primary connection subscribed to the channel fed by the {@code outbox_event} insert trigger;
+ * the relay's polling loop stays in place as the safety net for missed notifications.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay.notify", name = "enabled", havingValue = "true")
+public class OutboxNotificationListener {
+    private final ConnectionFactory connectionFactory;
+    private final OutboxProcessor outboxProcessor;
+    private final OutboxRelayProperties.Notify properties;
+
+    private Disposable subscription;
+
+    public OutboxNotificationListener(DataSourceProperties dataSourceProperties,
+                                      OutboxRelayProperties relayProperties,
+                                      OutboxProcessor outboxProcessor) {
+        DataSourceProperties.Dsn primary = dataSourceProperties.getPrimary();
+        this.connectionFactory = ConnectionFactories.get(
+                ConnectionFactoryOptions.parse(primary.getUrl())
+                        .mutate()
+                        .option(USER, primary.getUsername())
+                        .option(PASSWORD, primary.getPassword())
+                        .build()
+        );
+        this.outboxProcessor = outboxProcessor;
+        this.properties = relayProperties.getNotify();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.usingWhen(
+                        Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        this::listen,
+                        Connection::close)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getReconnectDelay())
+                        .maxBackoff(properties.getMaxReconnectDelay())
+                        .doBeforeRetry(signal -> log.warn("[outbox:notify:reconnect] attempt={} cause={}",
+                                signal.totalRetries() + 1, signal.failure().toString())))
+                .subscribe(notification -> outboxProcessor.wakeUp());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<Notification> listen(PostgresqlConnection connection) {
+        return connection.createStatement("LISTEN " + OUTBOX_NOTIFY_CHANNEL)
+                .execute()
+                .flatMap(Result::getRowsUpdated)
+                .then(Mono.fromRunnable(() -> {
+                    log.info("[outbox:notify:listen] channel={}", OUTBOX_NOTIFY_CHANNEL);
+                    // anything inserted while we were not listening is picked up right away
+                    outboxProcessor.wakeUp();
+                }))
+                .thenMany(connection.getNotifications())
+                .concatWith(Mono.error(() -> new IllegalStateException("Notification stream closed")));
+    }
+}
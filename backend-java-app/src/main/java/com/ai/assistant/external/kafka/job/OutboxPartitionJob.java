@@ -0,0 +1,29 @@
+package com.ai.assistant.external.kafka.job;
+
+import com.ai.assistant.external.kafka.config.OutboxPartitionProperties;
+import com.ai.assistant.usecase.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the partitioned {@code outbox_event} table bounded: daily partitions are created ahead of
+ * time and fully published ones past the retention window are detached or dropped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxPartitionJob {
+    private final OutboxService outboxService;
+    private final OutboxPartitionProperties properties;
+
+    @Scheduled(initialDelayString = "${app.outbox.partition.initial-delay:PT1M}",
+            fixedDelayString = "${app.outbox.partition.maintenance-interval:PT1H}")
+    public Mono<Void> maintain() {
+        return outboxService.maintainPartitions(properties.getPremakeDays(), properties.getRetention(), properties.getArchiveMode())
+                .doOnError(e -> log.error("[outbox:partition:error] Partition maintenance failed", e))
+                .onErrorResume(e -> Mono.empty());
+    }
+}
@@ -1,38 +1,113 @@
 package com.ai.assistant.external.kafka.job;
 
+import com.ai.assistant.core.cluster.NodeIdentity;
+import com.ai.assistant.external.kafka.config.OutboxRelayProperties;
 import com.ai.assistant.external.kafka.service.OutboxEventKafkaPublisher;
-import com.ai.assistant.persistence.relational.entity.OutboxEvent;
 import com.ai.assistant.usecase.service.OutboxService;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import java.util.List;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+
+/**
+ * Continuously relays outbox events to Kafka. Each node leases its own batch with SKIP LOCKED,
+ * so nodes never publish the same event twice, and a single sequential loop rules out overlap.
+ * Polling runs back to back while batches come back full and backs off exponentially when idle;
+ * {@link #wakeUp()} cuts an idle wait short when {@link OutboxNotificationListener} is enabled.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OutboxProcessor {
     private final OutboxService outboxService;
     private final OutboxEventKafkaPublisher kafkaPublisher;
+    private final OutboxRelayProperties properties;
+    private final String owner;
 
-    @Scheduled(fixedDelay = 2000)
-    public void processOutboxEvents() {
-        outboxService.findPendingEvents()
-                .flatMap(batch ->
-                        kafkaPublisher.publish(batch)
-                                .doOnSuccess(v -> log.info("[outbox:publish] Successfully published {} events to Kafka", batch.size()))
-                                .then(outboxService.markEventsAsPublished(batch))
-                                .doOnSuccess(v -> log.info("[outbox:db] Successfully marked {} events as PUBLISHED in DB", batch.size()))
-                )
-                .onErrorContinue((e, o) -> {
-                    if (o instanceof List<?> list && !list.isEmpty() && list.getFirst() instanceof OutboxEvent event) {
-                        log.error("[outbox:error] Failed to process batch starting with eventId={}. Retrying later...", event.getId(), e);
-                    } else {
-                        log.error("[outbox:error] Failed to process unknown batch. Retrying later...", e);
-                    }
+    private final Sinks.Many<Boolean> wakeups = Sinks.many().multicast().directBestEffort();
+
+    private volatile Duration idleDelay;
+    private volatile boolean wakeRequested;
+    private Disposable relay;
+
+    public OutboxProcessor(OutboxService outboxService,
+                           OutboxEventKafkaPublisher kafkaPublisher,
+                           OutboxRelayProperties properties,
+                           NodeIdentity nodeIdentity) {
+        this.outboxService = outboxService;
+        this.kafkaPublisher = kafkaPublisher;
+        this.properties = properties;
+        this.owner = nodeIdentity.getId();
+        this.idleDelay = properties.getMinDelay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        relay = Mono.defer(() -> {
+                    wakeRequested = false;
+                    return processOutboxEvents();
+                })
+                .onErrorResume(e -> {
+                    log.error("[outbox:error] Failed to process batch. Retrying later...", e);
+                    return Mono.just(0);
                 })
+                .flatMap(count -> sleep(nextDelay(count)))
+                .repeat()
                 .subscribe();
+        log.info("[outbox:relay:start] owner={} batchSize={}", owner, properties.getBatchSize());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (relay != null) {
+            relay.dispose();
+        }
+    }
+
+    /** Requests an immediate drain; a wake-up during a running batch triggers one more pass. */
+    public void wakeUp() {
+        wakeRequested = true;
+        wakeups.tryEmitNext(Boolean.TRUE);
+    }
+
+    /** Claims, publishes and marks one batch; emits the number of claimed events. */
+    public Mono<Integer> processOutboxEvents() {
+        return outboxService.claimPendingEvents(owner, properties.getLease(), properties.getBatchSize())
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    return kafkaPublisher.publish(batch, properties.getMaxInFlight())
+                            .doOnNext(published -> log.info("[outbox:publish] Published {}/{} events to Kafka", published.size(), batch.size()))
+                            .flatMap(published -> outboxService.markEventsAsPublished(published))
+                            .thenReturn(batch.size());
+                });
+    }
+
+    private Mono<Object> sleep(Duration delay) {
+        if (delay.isZero() || wakeRequested) {
+            return Mono.<Object>just(0L);
+        }
+        return Mono.firstWithSignal(Mono.delay(delay), wakeups.asFlux().next());
+    }
+
+    private Duration nextDelay(int claimed) {
+        if (claimed >= properties.getBatchSize()) {
+            idleDelay = properties.getMinDelay();
+            return Duration.ZERO;
+        }
+        if (claimed > 0) {
+            idleDelay = properties.getMinDelay();
+            return idleDelay;
+        }
+        Duration current = idleDelay;
+        Duration doubled = current.multipliedBy(2);
+        idleDelay = doubled.compareTo(properties.getMaxDelay()) > 0 ? properties.getMaxDelay() : doubled;
+        return current;
     }
 }
@@ -6,5 +6,9 @@ import reactor.core.publisher.Mono;
 import java.util.List;
 
 public interface OutboxEventKafkaPublisher {
-    Mono<Void> publish(List<OutboxEvent> events);
+    /**
+     * Publishes the events with at most {@code maxInFlight} concurrent sends and emits the ones
+     * that were accepted by the binder. Failed events are logged and left out.
+     */
+    Mono<List<OutboxEvent>> publish(List<OutboxEvent> events, int maxInFlight);
 }
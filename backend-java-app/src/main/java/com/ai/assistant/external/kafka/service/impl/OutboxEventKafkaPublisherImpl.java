@@ -11,6 +11,7 @@ import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -30,7 +31,7 @@ public class OutboxEventKafkaPublisherImpl implements OutboxEventKafkaPublisher
     }
 
     @Override
-    public Mono<Void> publish(List<OutboxEvent> events) {
+    public Mono<List<OutboxEvent>> publish(List<OutboxEvent> events, int maxInFlight) {
         return Flux.fromIterable(events)
                 .flatMap(event -> resilience.wrap(Mono.fromCallable(() -> {
                             String topic = event.getEventType().getOutBindingName();
@@ -48,12 +49,13 @@ public class OutboxEventKafkaPublisherImpl implements OutboxEventKafkaPublisher
                                 );
                             }
 
-                            return true;
-                        }))
+                            return event;
+                        }).subscribeOn(Schedulers.boundedElastic()))
                         .doOnSuccess(v -> log.info("[event:publish] EventId={} published successfully to topic={}",
                                 event.getId(), event.getEventType().getOutBindingName()))
                         .doOnError(e -> log.error("[event:publish] Failed to publish eventId={} type={} to Kafka",
-                                event.getId(), event.getEventType(), e)))
-                .then();
+                                event.getId(), event.getEventType(), e))
+                        .onErrorResume(e -> Mono.empty()), maxInFlight)
+                .collectList();
     }
 }
@@ -0,0 +1,64 @@
+package com.ai.assistant.external.minio.cache;
+
+import com.ai.assistant.external.minio.config.MinioProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Byte-bounded cache of project file contents keyed by project, path and ETag, so an object is
+ * only downloaded again once its content actually changes. Eviction is Caffeine's W-TinyLFU.
+ */
+@Slf4j
+@Component
+public class ProjectFileContentCache {
+
+    private static final String CACHE_NAME = "project.file.content";
+
+    private final Cache<FileKey, String> cache;
+
+    public ProjectFileContentCache(MinioProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getCache().getMaxBytes())
+                .weigher((FileKey key, String content) -> weigh(content))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<String> get(Long projectId, String path, String etag) {
+        if (etag == null || etag.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(new FileKey(projectId, path, normalize(etag))));
+    }
+
+    public void put(Long projectId, String path, String etag, String content) {
+        if (etag == null || etag.isBlank()) {
+            return;
+        }
+        cache.put(new FileKey(projectId, path, normalize(etag)), content);
+    }
+
+    public void invalidateProject(Long projectId) {
+        cache.asMap().keySet().removeIf(key -> key.projectId().equals(projectId));
+        log.debug("[project:file:cache:invalidate] projectId={}", projectId);
+    }
+
+    private static int weigh(String content) {
+        // worst case for non-Latin-1 content: two bytes per char
+        return (int) Math.min(Integer.MAX_VALUE, (long) content.length() * 2);
+    }
+
+    private static String normalize(String etag) {
+        return etag.replace("\"", "");
+    }
+
+    private record FileKey(Long projectId, String path, String etag) {
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "app.minio")
@@ -12,4 +14,22 @@ public class MinioProperties {
     private String accessKey;
     private String secretKey;
     private String bucket;
+    private Cache cache = new Cache();
+    private Fetch fetch = new Fetch();
+
+    /** Bounds for the in-memory project file content cache. */
+    @Getter
+    @Setter
+    public static class Cache {
+        private long maxBytes = 64 * 1024 * 1024;
+    }
+
+    /** Limits for streaming project files out of the bucket. */
+    @Getter
+    @Setter
+    public static class Fetch {
+        private int concurrency = 8;
+        private Duration objectTimeout = Duration.ofSeconds(10);
+        private long maxTotalBytes = 4 * 1024 * 1024;
+    }
 }
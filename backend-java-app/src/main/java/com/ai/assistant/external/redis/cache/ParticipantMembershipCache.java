@@ -0,0 +1,246 @@
+package com.ai.assistant.external.redis.cache;
+
+import com.ai.assistant.external.redis.pubsub.RedisTopicSubscriber;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier conversation membership cache. A node-local Caffeine tier answers hot lookups without
+ * I/O, a per-user Redis hash shares positive results between nodes, and the loader runs only when
+ * both miss. Negative answers stay local and expire sooner. The Redis hash expires a fixed time after
+ * it was created, so no field outlives that bound however often it is written. Evictions are applied
+ * to Redis and broadcast so every node drops its local copy. A load that overlaps an eviction must not
+ * put the stale answer back: evictions leave a short-lived Redis tombstone that the shared write
+ * respects, and bump a local generation that the local write is checked against.
+ */
+@Slf4j
+@Component
+public class ParticipantMembershipCache {
+
+    private static final String CACHE_NAME = "participant.membership";
+    private static final ChannelTopic INVALIDATION_TOPIC = ChannelTopic.of("membership:invalidate");
+    private static final String MEMBER = "1";
+
+    /**
+     * HSET unless a user or conversation tombstone exists, and EXPIRE only if the hash has no TTL yet,
+     * so later writes cannot extend older fields. Returns 0 when a tombstone blocked the write.
+     */
+    private static final RedisScript<Long> PUT_MEMBER = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[2], KEYS[3]) > 0 then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            if redis.call('TTL', KEYS[1]) < 0 then
+              redis.call('EXPIRE', KEYS[1], ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisTopicSubscriber topicSubscriber;
+    private final Duration redisTtl;
+    private final Duration tombstoneTtl;
+    private final Cache<MembershipKey, Boolean> local;
+    private final AtomicLong generation = new AtomicLong();
+
+    private Disposable invalidations;
+
+    public ParticipantMembershipCache(ReactiveRedisTemplate<String, String> redisTemplate,
+                                      RedisTopicSubscriber topicSubscriber,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${redis.membership.local-max-size}") long localMaxSize,
+                                      @Value("${redis.membership.local-ttl}") Duration localTtl,
+                                      @Value("${redis.membership.negative-ttl}") Duration negativeTtl,
+                                      @Value("${redis.membership.redis-ttl}") Duration redisTtl,
+                                      @Value("${redis.membership.tombstone-ttl}") Duration tombstoneTtl) {
+        this.redisTemplate = redisTemplate;
+        this.topicSubscriber = topicSubscriber;
+        this.redisTtl = redisTtl;
+        this.tombstoneTtl = tombstoneTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfter(new Expiry<MembershipKey, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(MembershipKey key, Boolean member, long currentTime) {
+                        return (member ? localTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(MembershipKey key, Boolean member, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, member, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(MembershipKey key, Boolean member, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidations = topicSubscriber.messages(INVALIDATION_TOPIC)
+                .subscribe(this::applyInvalidation);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (invalidations != null) {
+            invalidations.dispose();
+        }
+    }
+
+    private String redisKey(Long userId) {
+        return "membership:user:" + userId;
+    }
+
+    private String tombstoneKey(Long userId) {
+        return "membership:tombstone:user:" + userId;
+    }
+
+    private String tombstoneKey(Long userId, String conversationId) {
+        return tombstoneKey(userId) + ":" + conversationId;
+    }
+
+    public Mono<Boolean> isMember(Long conversationId, Long userId, Supplier<Mono<Boolean>> loader) {
+        MembershipKey key = new MembershipKey(conversationId, userId);
+        Boolean cached = local.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long startGeneration = generation.get();
+        String redisKey = redisKey(userId);
+        String field = conversationId.toString();
+        return redisTemplate.<String, String>opsForHash().get(redisKey, field)
+                .filter(MEMBER::equals)
+                .map(value -> true)
+                .onErrorResume(e -> {
+                    log.warn("[membership:redis:get:error] key={} field={} error={}", redisKey, field, e.toString());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loader.get()
+                        .defaultIfEmpty(false)
+                        .flatMap(member -> member
+                                ? storeShared(userId, field)
+                                        // a tombstone means an eviction overlapped this load; keep it out of the local tier too
+                                        .doOnNext(stored -> {
+                                            if (!stored) {
+                                                generation.incrementAndGet();
+                                            }
+                                        })
+                                        .thenReturn(true)
+                                : Mono.just(false))))
+                .doOnNext(member -> storeLocal(key, member, startGeneration));
+    }
+
+    public Mono<Void> evict(Long conversationId, Long userId) {
+        invalidateLocal(new MembershipKey(conversationId, userId));
+        String field = conversationId.toString();
+        return tombstone(tombstoneKey(userId, field))
+                .then(redisTemplate.opsForHash().remove(redisKey(userId), field))
+                .doOnError(e -> log.warn("[membership:evict:error] conversationId={} userId={} error={}", conversationId, userId, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then(broadcast(userId + ":" + conversationId));
+    }
+
+    /** Drops everything cached for the user, e.g. after a project membership change. */
+    public Mono<Void> evictUser(Long userId) {
+        evictLocalUser(userId);
+        return tombstone(tombstoneKey(userId))
+                .then(redisTemplate.delete(redisKey(userId)))
+                .doOnError(e -> log.warn("[membership:evict:user:error] userId={} error={}", userId, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then(broadcast(userId.toString()));
+    }
+
+    /** Emits whether the field was written; a Redis failure emits nothing and leaves the local tier to decide. */
+    private Mono<Boolean> storeShared(Long userId, String field) {
+        String redisKey = redisKey(userId);
+        return redisTemplate.execute(PUT_MEMBER,
+                        List.of(redisKey, tombstoneKey(userId), tombstoneKey(userId, field)),
+                        List.of(field, MEMBER, String.valueOf(redisTtl.toSeconds())))
+                .next()
+                .map(stored -> stored == 1L)
+                .onErrorResume(e -> {
+                    log.warn("[membership:redis:put:error] key={} field={} error={}", redisKey, field, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Boolean> tombstone(String key) {
+        return redisTemplate.opsForValue().set(key, MEMBER, tombstoneTtl);
+    }
+
+    /**
+     * Caches a looked-up answer unless an eviction ran since the lookup started. The second check
+     * covers an eviction whose invalidate ran between the first check and the put.
+     */
+    private void storeLocal(MembershipKey key, Boolean member, long startGeneration) {
+        if (generation.get() != startGeneration) {
+            return;
+        }
+        local.put(key, member);
+        if (generation.get() != startGeneration) {
+            local.invalidate(key);
+        }
+    }
+
+    private Mono<Void> broadcast(String invalidation) {
+        return redisTemplate.convertAndSend(INVALIDATION_TOPIC.getTopic(), invalidation)
+                .doOnError(e -> log.warn("[membership:invalidate:publish:error] value={} error={}", invalidation, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void applyInvalidation(String invalidation) {
+        int separator = invalidation.indexOf(':');
+        try {
+            if (separator < 0) {
+                evictLocalUser(Long.parseLong(invalidation));
+            } else {
+                invalidateLocal(new MembershipKey(
+                        Long.parseLong(invalidation.substring(separator + 1)),
+                        Long.parseLong(invalidation.substring(0, separator))));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("[membership:invalidate:malformed] value={}", invalidation);
+        }
+    }
+
+    /** The generation is bumped before invalidating so an in-flight {@link #storeLocal} always sees one of the two. */
+    private void invalidateLocal(MembershipKey key) {
+        generation.incrementAndGet();
+        local.invalidate(key);
+    }
+
+    private void evictLocalUser(Long userId) {
+        generation.incrementAndGet();
+        local.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+        log.debug("[membership:invalidate:user] userId={}", userId);
+    }
+
+    private record MembershipKey(Long conversationId, Long userId) {
+    }
+}
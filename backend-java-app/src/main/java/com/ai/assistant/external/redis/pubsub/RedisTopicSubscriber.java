@@ -0,0 +1,37 @@
+package com.ai.assistant.external.redis.pubsub;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Shared entry point for Redis pub/sub listeners. A dropped connection resubscribes with a capped
+ * backoff instead of silently ending the stream, so in-process state fed by a topic keeps
+ * receiving updates once Redis is back.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisTopicSubscriber {
+
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+    /** Message bodies published on {@code topic}; never completes on its own. */
+    public Flux<String> messages(ChannelTopic topic) {
+        return listenerContainer.receive(topic)
+                .map(ReactiveSubscription.Message::getMessage)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_BACKOFF).maxBackoff(MAX_BACKOFF)
+                        .doBeforeRetry(signal -> log.warn("[redis:topic:subscribe:retry] topic={} error={}",
+                                topic.getTopic(), signal.failure().toString())));
+    }
+}
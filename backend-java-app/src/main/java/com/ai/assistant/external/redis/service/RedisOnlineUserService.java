@@ -3,9 +3,14 @@ package com.ai.assistant.external.redis.service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface RedisOnlineUserService {
     Mono<Void> addOnlineUser(Long userId);
     Mono<Void> removeOnlineUser(Long userId);
     Mono<Boolean> isOnline(Long userId);
+    /** Presence for many users in at most one round trip; every requested id is present in the result. */
+    Mono<Map<Long, Boolean>> areOnline(Collection<Long> userIds);
     Flux<Long> getOnlineUsers();
 }
@@ -1,9 +1,15 @@
 package com.ai.assistant.external.redis.service;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface RedisReadyFlagService {
     Mono<Void> markReady(String channelKey, Long userId);
+    Mono<Void> markNotReady(String channelKey, Long userId);
     Mono<Boolean> isReady(String channelKey, Long userId);
     Mono<Boolean> hasAnyReadyUser(String channelKey);
-}
\ No newline at end of file
+
+    /** Channel keys as they become ready, on this node or any other. */
+    Flux<String> readySignals();
+}
+
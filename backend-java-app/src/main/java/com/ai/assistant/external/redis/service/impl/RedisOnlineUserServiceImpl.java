@@ -2,28 +2,87 @@ package com.ai.assistant.external.redis.service.impl;
 
 import com.ai.assistant.external.redis.service.RedisOnlineUserService;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
+import com.ai.assistant.external.redis.pubsub.RedisTopicSubscriber;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.REDIS_RESILIENCE_WRAPPER;
 
 @Slf4j
 @Service
 public class RedisOnlineUserServiceImpl implements RedisOnlineUserService {
 
+    private static final String CACHE_NAME = "presence.online";
+    private static final ChannelTopic PRESENCE_TOPIC = ChannelTopic.of("users:online:events");
+    private static final char ONLINE = '+';
+    private static final char OFFLINE = '-';
+
     private final ReactiveRedisTemplate<String, Long> redisTemplate;
+    private final ReactiveRedisTemplate<String, String> stringRedisTemplate;
+    private final RedisTopicSubscriber topicSubscriber;
     private final ResilienceWrapper resilience;
+    /** Null when local caching is disabled; kept coherent by the presence topic, the TTL only bounds staleness. */
+    private final Cache<Long, Boolean> local;
+
+    private Disposable presenceEvents;
 
     public RedisOnlineUserServiceImpl(
             ReactiveRedisTemplate<String, Long> redisTemplate,
-            @Qualifier(REDIS_RESILIENCE_WRAPPER) ResilienceWrapper resilience
+            ReactiveRedisTemplate<String, String> stringRedisTemplate,
+            RedisTopicSubscriber topicSubscriber,
+            @Qualifier(REDIS_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
+            MeterRegistry meterRegistry,
+            @Value("${redis.presence.local-cache-enabled}") boolean localCacheEnabled,
+            @Value("${redis.presence.local-max-size}") long localMaxSize,
+            @Value("${redis.presence.local-ttl}") Duration localTtl
     ) {
         this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.topicSubscriber = topicSubscriber;
         this.resilience = resilience;
+        if (localCacheEnabled) {
+            this.local = Caffeine.newBuilder()
+                    .maximumSize(localMaxSize)
+                    .expireAfterWrite(localTtl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+        } else {
+            this.local = null;
+        }
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        presenceEvents = topicSubscriber.messages(PRESENCE_TOPIC)
+                .subscribe(this::applyPresenceEvent);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (presenceEvents != null) {
+            presenceEvents.dispose();
+        }
     }
 
     private String redisKey() {
@@ -35,7 +94,7 @@ public class RedisOnlineUserServiceImpl implements RedisOnlineUserService {
         String key = redisKey();
         log.debug("[redis:online:add] userId={}", userId);
         return resilience.wrap(redisTemplate.opsForSet().add(key, userId))
-                .then()
+                .then(publish(ONLINE, userId))
                 .doOnError(e -> log.error("[redis:online:add:error] userId={} error={}", userId, e.toString(), e));
     }
 
@@ -44,21 +103,84 @@ public class RedisOnlineUserServiceImpl implements RedisOnlineUserService {
         String key = redisKey();
         log.debug("[redis:online:remove] userId={}", userId);
         return resilience.wrap(redisTemplate.opsForSet().remove(key, userId))
-                .then()
+                .then(publish(OFFLINE, userId))
                 .doOnError(e -> log.error("[redis:online:remove:error] userId={} error={}", userId, e.toString(), e));
     }
 
     @Override
     public Mono<Boolean> isOnline(Long userId) {
+        if (local != null) {
+            Boolean cached = local.getIfPresent(userId);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+        }
         String key = redisKey();
         return resilience.wrap(redisTemplate.opsForSet().isMember(key, userId))
+                .doOnNext(online -> cache(userId, online))
                 .doOnError(e -> log.error("[redis:online:isMember:error] userId={} error={}", userId, e.toString(), e));
     }
 
+    @Override
+    public Mono<Map<Long, Boolean>> areOnline(Collection<Long> userIds) {
+        Map<Long, Boolean> online = new HashMap<>(userIds.size());
+        List<Long> misses = new ArrayList<>();
+        for (Long userId : userIds) {
+            Boolean cached = local != null ? local.getIfPresent(userId) : null;
+            if (cached != null) {
+                online.put(userId, cached);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return Mono.just(online);
+        }
+
+        String key = redisKey();
+        // single SMISMEMBER for every miss instead of one SISMEMBER per user
+        return resilience.wrap(redisTemplate.opsForSet().isMember(key, misses.toArray()))
+                .map(result -> {
+                    for (Long userId : misses) {
+                        boolean isOnline = Boolean.TRUE.equals(result.get(userId));
+                        online.put(userId, isOnline);
+                        cache(userId, isOnline);
+                    }
+                    return online;
+                })
+                .doOnError(e -> log.error("[redis:online:isMember:bulk:error] size={} error={}", misses.size(), e.toString(), e));
+    }
+
     @Override
     public Flux<Long> getOnlineUsers() {
         String key = redisKey();
         return resilience.wrap(redisTemplate.opsForSet().members(key))
                 .doOnError(e -> log.error("[redis:online:members:error] error={}", e.toString(), e));
     }
+
+    private Mono<Void> publish(char state, Long userId) {
+        cache(userId, state == ONLINE);
+        return stringRedisTemplate.convertAndSend(PRESENCE_TOPIC.getTopic(), state + userId.toString())
+                .doOnError(e -> log.warn("[redis:online:publish:error] userId={} error={}", userId, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private void applyPresenceEvent(String payload) {
+        if (payload.length() < 2 || (payload.charAt(0) != ONLINE && payload.charAt(0) != OFFLINE)) {
+            log.warn("[redis:online:event:malformed] value={}", payload);
+            return;
+        }
+        try {
+            cache(Long.parseLong(payload.substring(1)), payload.charAt(0) == ONLINE);
+        } catch (NumberFormatException e) {
+            log.warn("[redis:online:event:malformed] value={}", payload);
+        }
+    }
+
+    private void cache(Long userId, boolean online) {
+        if (local != null) {
+            local.put(userId, online);
+        }
+    }
 }
@@ -1,13 +1,22 @@
 package com.ai.assistant.external.redis.service.impl;
 
+import com.ai.assistant.core.cluster.NodeIdentity;
 import com.ai.assistant.external.redis.service.RedisReadyFlagService;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
+import com.ai.assistant.external.redis.pubsub.RedisTopicSubscriber;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.time.Duration;
 
@@ -17,54 +26,118 @@ import static com.ai.assistant.core.Constants.Resilience.Wrapper.REDIS_RESILIENC
 @Service
 public class RedisReadyFlagServiceImpl implements RedisReadyFlagService {
 
+    private static final ChannelTopic READY_TOPIC = ChannelTopic.of("ws:ready:events");
+    private static final char ORIGIN_SEPARATOR = '|';
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisTopicSubscriber topicSubscriber;
     private final ResilienceWrapper resilience;
     private final Integer readyFlagTtlSeconds;
+    private final String instance;
+
+    private final Sinks.Many<String> readySignals = Sinks.many().multicast().directBestEffort();
+    private Disposable remoteSignals;
 
     public RedisReadyFlagServiceImpl(
             ReactiveRedisTemplate<String, String> redisTemplate,
+            RedisTopicSubscriber topicSubscriber,
             @Qualifier(REDIS_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
-            @Value("${redis.ttl.ready-flag}") Integer readyFlagTtlSeconds
+            @Value("${redis.ttl.ready-flag}") Integer readyFlagTtlSeconds,
+            NodeIdentity nodeIdentity
     ) {
         this.redisTemplate = redisTemplate;
+        this.topicSubscriber = topicSubscriber;
         this.resilience = resilience;
         this.readyFlagTtlSeconds = readyFlagTtlSeconds;
+        this.instance = nodeIdentity.getId();
     }
 
-    private String redisKey(String channelKey, Long userId) {
-        return "ws:" + channelKey + ":ready:" + userId;
+    /** Relays readiness published by other nodes; this node's own signals are emitted locally. */
+    @PostConstruct
+    public void subscribe() {
+        remoteSignals = topicSubscriber.messages(READY_TOPIC)
+                .filter(payload -> !payload.startsWith(instance + ORIGIN_SEPARATOR))
+                .map(payload -> payload.substring(payload.indexOf(ORIGIN_SEPARATOR) + 1))
+                .subscribe(this::emitSignal);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (remoteSignals != null) {
+            remoteSignals.dispose();
+        }
+    }
+
+    /** One sorted set per channel key: members are user ids, scores are their expiry in epoch millis. */
+    private String redisKey(String channelKey) {
+        return "ws:" + channelKey + ":ready";
     }
 
     @Override
     public Mono<Void> markReady(String channelKey, Long userId) {
-        String key = redisKey(channelKey, userId);
-        log.debug("[redis:ready:mark] key={}", key);
+        String key = redisKey(channelKey);
+        long now = System.currentTimeMillis();
+        Duration ttl = Duration.ofSeconds(readyFlagTtlSeconds);
+        log.debug("[redis:ready:mark] key={} userId={}", key, userId);
+
+        Mono<Boolean> mark = redisTemplate.opsForZSet().add(key, userId.toString(), now + ttl.toMillis())
+                .then(redisTemplate.opsForZSet().removeRangeByScore(key, Range.closed(0d, (double) now)))
+                .then(redisTemplate.expire(key, ttl));
+
+        return resilience.wrap(mark)
+                .then(Mono.fromRunnable(() -> emitSignal(channelKey)))
+                .then(redisTemplate.convertAndSend(READY_TOPIC.getTopic(), instance + ORIGIN_SEPARATOR + channelKey)
+                        .doOnError(e -> log.warn("[redis:ready:publish:error] key={} error={}", key, e.toString()))
+                        .onErrorResume(e -> Mono.empty()))
+                .then()
+                .doOnSuccess(v -> log.debug("[redis:ready:mark:success] key={} userId={}", key, userId))
+                .doOnError(e -> log.error("[redis:ready:mark:error] key={} userId={} error={}", key, userId, e.toString(), e));
+    }
+
+    @Override
+    public Mono<Void> markNotReady(String channelKey, Long userId) {
+        String key = redisKey(channelKey);
+        log.debug("[redis:ready:unmark] key={} userId={}", key, userId);
 
-        return resilience.wrap(redisTemplate.opsForValue().set(key, "1", Duration.ofSeconds(readyFlagTtlSeconds)))
+        return resilience.wrap(redisTemplate.opsForZSet().remove(key, userId.toString()))
                 .then()
-                .doOnSuccess(v -> log.debug("[redis:ready:mark:success] key={}", key))
-                .doOnError(e -> log.error("[redis:ready:mark:error] key={} error={}", key, e.toString(), e));
+                .doOnError(e -> log.error("[redis:ready:unmark:error] key={} userId={} error={}", key, userId, e.toString(), e));
     }
 
     @Override
     public Mono<Boolean> isReady(String channelKey, Long userId) {
-        String key = redisKey(channelKey, userId);
-        log.debug("[redis:ready:check] key={}", key);
+        String key = redisKey(channelKey);
+        log.debug("[redis:ready:check] key={} userId={}", key, userId);
 
-        return resilience.wrap(redisTemplate.hasKey(key))
-                .doOnNext(ready -> log.debug("[redis:ready:check:result] key={} ready={}", key, ready))
-                .doOnError(e -> log.error("[redis:ready:check:error] key={} error={}", key, e.toString(), e));
+        return resilience.wrap(redisTemplate.opsForZSet().score(key, userId.toString()))
+                .map(expiresAt -> expiresAt > System.currentTimeMillis())
+                .defaultIfEmpty(false)
+                .doOnNext(ready -> log.debug("[redis:ready:check:result] key={} userId={} ready={}", key, userId, ready))
+                .doOnError(e -> log.error("[redis:ready:check:error] key={} userId={} error={}", key, userId, e.toString(), e));
     }
 
     @Override
     public Mono<Boolean> hasAnyReadyUser(String channelKey) {
-        String keyPrefix = "ws:" + channelKey + ":ready:";
+        String key = redisKey(channelKey);
+        Range<Double> unexpired = Range.rightUnbounded(Range.Bound.exclusive((double) System.currentTimeMillis()));
 
-        return redisTemplate.scan()
-                .filter(key -> key.startsWith(keyPrefix))
-                .hasElements()
-                .doOnNext(found -> log.debug("[redis:ready:hasAnyReadyUser] prefix={} found={}", keyPrefix, found))
-                .doOnError(e -> log.error("[redis:ready:hasAnyReadyUser:error] prefix={} error={}", keyPrefix, e.toString(), e));
+        return resilience.wrap(redisTemplate.opsForZSet().count(key, unexpired))
+                .map(count -> count > 0)
+                .defaultIfEmpty(false)
+                .doOnNext(found -> log.debug("[redis:ready:hasAnyReadyUser] key={} found={}", key, found))
+                .doOnError(e -> log.error("[redis:ready:hasAnyReadyUser:error] key={} error={}", key, e.toString(), e));
     }
-}
 
+    @Override
+    public Flux<String> readySignals() {
+        return readySignals.asFlux();
+    }
+
+    /** Never spins the calling Netty thread; a signal nobody is waiting for, or one lost to a concurrent emit, is only logged. */
+    private void emitSignal(String channelKey) {
+        Sinks.EmitResult result = readySignals.tryEmitNext(channelKey);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.warn("[redis:ready:signal:dropped] key={} result={}", channelKey, result);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -17,6 +18,15 @@ import static com.ai.assistant.core.Constants.Resilience.Wrapper.REDIS_RESILIENC
 @Service
 public class RedisSelectedFileServiceImpl implements RedisSelectedFileService {
 
+    /** DEL + multi-value RPUSH in one atomic call; ARGV is unpacked in slices to stay under Lua's stack limit. */
+    private static final RedisScript<Long> REPLACE_LIST = RedisScript.of("""
+            redis.call('DEL', KEYS[1])
+            for i = 1, #ARGV, 1000 do
+              redis.call('RPUSH', KEYS[1], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+            end
+            return #ARGV
+            """, Long.class);
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final ResilienceWrapper resilience;
 
@@ -36,10 +46,7 @@ public class RedisSelectedFileServiceImpl implements RedisSelectedFileService {
     public Mono<Void> setSelectedFiles(Long projectId, List<String> files) {
         String key = redisKey(projectId);
         log.debug("[redis:selected:set] key={} size={}", key, files.size());
-        return resilience.wrap(redisTemplate.delete(key))
-                .thenMany(Flux.fromIterable(files)
-                        .concatMap(f -> redisTemplate.opsForList().rightPush(key, f)))
-                .then()
+        return resilience.wrap(redisTemplate.execute(REPLACE_LIST, List.of(key), files).then())
                 .doOnSuccess(v -> log.debug("[redis:selected:set:success] key={}", key))
                 .doOnError(e -> log.error("[redis:selected:set:error] key={} error={}", key, e.toString(), e));
     }
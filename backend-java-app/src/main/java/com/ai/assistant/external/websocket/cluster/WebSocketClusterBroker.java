@@ -0,0 +1,124 @@
+package com.ai.assistant.external.websocket.cluster;
+
+import com.ai.assistant.core.cluster.NodeIdentity;
+import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
+import com.ai.assistant.external.redis.pubsub.RedisTopicSubscriber;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Relays encoded frames between nodes. A send is delivered to local sessions by the strategy
+ * itself and published here once, only when another node holds sessions for the same key;
+ * each receiving node hands the frame to the local delivery of the matching channel.
+ */
+@Slf4j
+@Component
+public class WebSocketClusterBroker {
+
+    private static final ChannelTopic BROADCAST_TOPIC = ChannelTopic.of("ws:broadcast");
+
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final RedisTopicSubscriber topicSubscriber;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String instance;
+
+    private final Map<WebSocketChannelType, BiFunction<String, String, Mono<Void>>> localDeliveries = new ConcurrentHashMap<>();
+    private Disposable subscription;
+
+    public WebSocketClusterBroker(WebSocketSessionRegistry sessionRegistry,
+                                  ReactiveRedisTemplate<String, String> redisTemplate,
+                                  RedisTopicSubscriber topicSubscriber,
+                                  ObjectMapper objectMapper,
+                                  @Value("${websocket.cluster.enabled}") boolean enabled,
+                                  NodeIdentity nodeIdentity) {
+        this.sessionRegistry = sessionRegistry;
+        this.redisTemplate = redisTemplate;
+        this.topicSubscriber = topicSubscriber;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.instance = nodeIdentity.getId();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        if (!enabled) {
+            return;
+        }
+        subscription = topicSubscriber.messages(BROADCAST_TOPIC)
+                .concatMap(raw -> deliver(raw).onErrorResume(e -> {
+                    log.warn("[ws:cluster:deliver:error] error={}", e.toString());
+                    return Mono.empty();
+                }))
+                .subscribe();
+        log.info("[ws:cluster:start] instance={} topic={}", instance, BROADCAST_TOPIC.getTopic());
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /** Called once per strategy; {@code delivery} must only touch sessions of this node. */
+    public void registerLocalDelivery(WebSocketChannelType channel, BiFunction<String, String, Mono<Void>> delivery) {
+        localDeliveries.put(channel, delivery);
+    }
+
+    /** Whether frames for the key have to leave this node at all; cached briefly by the registry. */
+    public Mono<Boolean> hasRemoteSessions(WebSocketChannelType channel, String key) {
+        if (!enabled) {
+            return Mono.just(false);
+        }
+        return sessionRegistry.hasRemoteSessions(channel, key);
+    }
+
+    public Mono<Void> publish(WebSocketChannelType channel, String key, String payload) {
+        return hasRemoteSessions(channel, key)
+                .flatMap(remote -> remote ? publishRemote(channel, key, payload) : Mono.empty());
+    }
+
+    private Mono<Void> publishRemote(WebSocketChannelType channel, String key, String payload) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(new WebSocketClusterFrame(instance, channel, key, payload)))
+                .flatMap(frame -> redisTemplate.convertAndSend(BROADCAST_TOPIC.getTopic(), frame))
+                .doOnNext(receivers -> log.debug("[ws:cluster:publish] channel={} key={} receivers={}", channel, key, receivers))
+                .doOnError(e -> log.warn("[ws:cluster:publish:error] channel={} key={} error={}", channel, key, e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private Mono<Void> deliver(String raw) {
+        WebSocketClusterFrame frame;
+        try {
+            frame = objectMapper.readValue(raw, WebSocketClusterFrame.class);
+        } catch (JsonProcessingException e) {
+            log.warn("[ws:cluster:decode:error] raw={}", raw, e);
+            return Mono.empty();
+        }
+        if (instance.equals(frame.origin())) {
+            return Mono.empty();
+        }
+        BiFunction<String, String, Mono<Void>> delivery = localDeliveries.get(frame.channel());
+        if (delivery == null || sessionRegistry.getSessions(frame.channel(), frame.key()).isEmpty()) {
+            return Mono.empty();
+        }
+        log.debug("[ws:cluster:deliver] origin={} channel={} key={}", frame.origin(), frame.channel(), frame.key());
+        return delivery.apply(frame.key(), frame.payload());
+    }
+}
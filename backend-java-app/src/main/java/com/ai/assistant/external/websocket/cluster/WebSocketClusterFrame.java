@@ -0,0 +1,12 @@
+package com.ai.assistant.external.websocket.cluster;
+
+import com.ai.assistant.enums.WebSocketChannelType;
+
+/** A payload already encoded for the wire, addressed to every session of {@code channel}/{@code key}. */
+public record WebSocketClusterFrame(
+        String origin,
+        WebSocketChannelType channel,
+        String key,
+        String payload
+) {
+}
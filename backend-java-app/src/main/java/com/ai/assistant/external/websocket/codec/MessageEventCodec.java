@@ -0,0 +1,40 @@
+package com.ai.assistant.external.websocket.codec;
+
+import com.ai.assistant.event.MessageEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-resolved reader and writers for {@link MessageEvent}, skipping per-call type lookups. The
+ * Smile writer shares the application mapper's configuration, so binary sessions get the same
+ * fields as JSON ones without a JSON round trip.
+ */
+@Component
+public class MessageEventCodec {
+
+    private final ObjectWriter writer;
+    private final ObjectWriter smileWriter;
+    private final ObjectReader reader;
+
+    public MessageEventCodec(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(MessageEvent.class);
+        this.smileWriter = objectMapper.copyWith(new SmileFactory()).writerFor(MessageEvent.class);
+        this.reader = objectMapper.readerFor(MessageEvent.class);
+    }
+
+    public String write(MessageEvent event) throws JsonProcessingException {
+        return writer.writeValueAsString(event);
+    }
+
+    public byte[] writeSmile(MessageEvent event) throws JsonProcessingException {
+        return smileWriter.writeValueAsBytes(event);
+    }
+
+    public MessageEvent read(String json) throws JsonProcessingException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ai.assistant.external.websocket.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+
+/**
+ * Opt-in Smile encoding for JSON channels, selected by the {@value #SMILE_SUBPROTOCOL} WebSocket
+ * subprotocol. Payloads are transcoded token by token, so no object binding happens on the way.
+ */
+public final class WebSocketBinaryCodec {
+
+    public static final String SMILE_SUBPROTOCOL = "smile";
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final SmileFactory SMILE = new SmileFactory();
+
+    private WebSocketBinaryCodec() {
+    }
+
+    public static boolean isBinary(WebSocketSession session) {
+        return SMILE_SUBPROTOCOL.equals(session.getHandshakeInfo().getSubProtocol());
+    }
+
+    public static byte[] jsonToSmile(String json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+        try (JsonParser parser = JSON.createParser(json);
+             JsonGenerator generator = SMILE.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+
+    public static String smileToJson(DataBuffer buffer) throws IOException {
+        StringWriter out = new StringWriter(buffer.readableByteCount() * 2);
+        try (InputStream in = buffer.asInputStream();
+             JsonParser parser = SMILE.createParser(in);
+             JsonGenerator generator = JSON.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toString();
+    }
+}
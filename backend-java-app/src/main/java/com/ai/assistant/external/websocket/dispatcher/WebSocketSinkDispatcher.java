@@ -2,6 +2,9 @@ package com.ai.assistant.external.websocket.dispatcher;
 
 import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.redis.service.RedisReadyFlagService;
+import com.ai.assistant.external.websocket.outbound.WebSocketOutboundRegistry;
+import com.ai.assistant.external.websocket.outbound.WebSocketSessionOutbound;
 import com.ai.assistant.external.websocket.strategy.WebSocketSinkStrategy;
 import com.ai.assistant.external.websocket.strategy.impl.AiTokenSinkStrategy;
 import com.ai.assistant.external.websocket.strategy.impl.ConversationMessageSinkStrategy;
@@ -27,9 +30,6 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class WebSocketSinkDispatcher {
 
-    @Value("${websocket.ready.interval}")
-    private Integer socketReadyIntervalInMillis;
-
     @Value("${websocket.ready.timeout-duration}")
     private Integer socketReadyTimeoutDurationInSeconds;
 
@@ -39,6 +39,8 @@ public class WebSocketSinkDispatcher {
     private final ConversationMessageSinkStrategy messageSink;
     private final SystemNotificationSinkStrategy systemNotificationSink;
     private final ProjectSelectedFileSinkStrategy projectSelectedFileSink;
+    private final RedisReadyFlagService readyFlagService;
+    private final WebSocketOutboundRegistry outboundRegistry;
 
     private final Map<WebSocketChannelType, WebSocketSinkStrategy<?>> strategyMap = new EnumMap<>(WebSocketChannelType.class);
 
@@ -52,6 +54,14 @@ public class WebSocketSinkDispatcher {
         strategyMap.put(WebSocketChannelType.PROJECT_SELECTED_FILES, projectSelectedFileSink);
     }
 
+    public WebSocketSessionOutbound openOutbound(WebSocketChannelType type, WebSocketSession session) {
+        return outboundRegistry.open(type, session);
+    }
+
+    public void closeOutbound(WebSocketSession session) {
+        outboundRegistry.close(session);
+    }
+
     public Mono<Void> register(WebSocketChannelType type, WebSocketSession session, WebSocketContext context) {
         @SuppressWarnings("unchecked")
         WebSocketSinkStrategy<Object> strategy = (WebSocketSinkStrategy<Object>) strategyMap.get(type);
@@ -67,8 +77,14 @@ public class WebSocketSinkDispatcher {
     public Mono<Boolean> isReady(WebSocketChannelType type, WebSocketContext context) {
         @SuppressWarnings("unchecked")
         WebSocketSinkStrategy<Object> strategy = (WebSocketSinkStrategy<Object>) strategyMap.get(type);
-        return Flux.interval(Duration.ofMillis(socketReadyIntervalInMillis))
-                .flatMap(tick -> strategy.isReady(context))
+        String key = strategy.readinessKey(context);
+
+        // listen before the first check so a registration in between is not missed
+        Flux<Boolean> onSignal = readyFlagService.readySignals()
+                .filter(key::equals)
+                .concatMap(signal -> strategy.isReady(context));
+
+        return Flux.merge(onSignal, strategy.isReady(context))
                 .filter(Boolean::booleanValue)
                 .next()
                 .timeout(Duration.ofSeconds(socketReadyTimeoutDurationInSeconds));
@@ -98,6 +114,11 @@ public class WebSocketSinkDispatcher {
                 .doOnError(e -> log.warn("[ws:send:unsafe:error] Failed to send to type={} context={}", type, context, e));
     }
 
+    public Flux<String> streamTokens(WebSocketContext context, Flux<String> tokens) {
+        return aiTokenSink.stream(context, tokens)
+                .doOnError(e -> log.warn("[ws:tokens:error] Token stream failed context={}", context, e));
+    }
+
     public Mono<Void> receive(WebSocketChannelType type, WebSocketSession session, WebSocketContext context, String rawMessage) {
         @SuppressWarnings("unchecked")
         WebSocketSinkStrategy<Object> strategy = (WebSocketSinkStrategy<Object>) strategyMap.get(type);
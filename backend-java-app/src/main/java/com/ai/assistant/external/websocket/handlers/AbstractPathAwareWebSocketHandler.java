@@ -3,6 +3,8 @@ package com.ai.assistant.external.websocket.handlers;
 import com.ai.assistant.external.websocket.dispatcher.WebSocketSinkDispatcher;
 import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.codec.WebSocketBinaryCodec;
+import com.ai.assistant.external.websocket.outbound.WebSocketSessionOutbound;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.web.reactive.socket.WebSocketSession;
 import org.springframework.web.util.UriTemplate;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.util.Map;
 
 @Slf4j
@@ -76,6 +79,16 @@ public abstract class AbstractPathAwareWebSocketHandler implements PathAwareWebS
                             String rawMessage = message.getPayloadAsText();
                             log.debug("[ws:{}:text] Received message. {} raw={}", channelType(), variableDump, rawMessage);
                             return sinkDispatcher.receive(channelType(), session, context, rawMessage);
+                        } else if (message.getType() == WebSocketMessage.Type.BINARY && WebSocketBinaryCodec.isBinary(session)) {
+                            String rawMessage;
+                            try {
+                                rawMessage = WebSocketBinaryCodec.smileToJson(message.getPayload());
+                            } catch (IOException e) {
+                                log.warn("[ws:{}:binary:decode:error] {} err={}", channelType(), variableDump, e.toString());
+                                return Mono.empty();
+                            }
+                            log.debug("[ws:{}:binary] Received message. {} raw={}", channelType(), variableDump, rawMessage);
+                            return sinkDispatcher.receive(channelType(), session, context, rawMessage);
                         }
 
                         log.debug("[ws:{}:message] Ignored message type={} {}", channelType(), message.getType(), variableDump);
@@ -83,17 +96,29 @@ public abstract class AbstractPathAwareWebSocketHandler implements PathAwareWebS
                     })
                     .doOnError(e -> log.warn("[ws:{}:receive:error] sessionId={} {} err={}",
                             channelType(), session.getId(), variableDump, e.toString(), e))
+                    // ends the inbound without cancelling the sender, so frames queued before the error still drain
+                    .onErrorResume(e -> Mono.empty())
                     .then();
 
-            return sinkDispatcher.register(channelType(), session, context)
+            // the only subscription to session.send; every push goes through this outbound
+            WebSocketSessionOutbound outbound = sinkDispatcher.openOutbound(channelType(), session);
+            Mono<Void> sender = session.send(outbound.messages());
+
+            Mono<Void> inbound = sinkDispatcher.register(channelType(), session, context)
                     .thenMany(receiver)
-                    .doFinally(sig -> sinkDispatcher.deregister(channelType(), session, context)
-                            .doOnSuccess(v -> log.info("[ws:{}:handle:cleanup] Deregister complete. {}",
-                                    channelType(), variableDump))
-                            .doOnError(e -> log.error("[ws:{}:handle:deregister:error] {} err={}",
-                                    channelType(), variableDump, e.toString(), e))
-                            .subscribe())
                     .then();
+
+            return Mono.when(inbound.doFinally(sig -> outbound.close()), sender)
+                    .doFinally(sig -> {
+                        session.close().subscribe();
+                        sinkDispatcher.closeOutbound(session);
+                        sinkDispatcher.deregister(channelType(), session, context)
+                                .doOnSuccess(v -> log.info("[ws:{}:handle:cleanup] Deregister complete. {}",
+                                        channelType(), variableDump))
+                                .doOnError(e -> log.error("[ws:{}:handle:deregister:error] {} err={}",
+                                        channelType(), variableDump, e.toString(), e))
+                                .subscribe();
+                    });
         }).onErrorResume(e -> {
             log.warn("[ws:{}:handle:early-exit] Register failed early: {}", channelType(), e.getMessage());
             return Mono.empty();
@@ -5,7 +5,10 @@ import com.ai.assistant.enums.WebSocketChannelType;
 import com.ai.assistant.external.websocket.handlers.AbstractPathAwareWebSocketHandler;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 import static com.ai.assistant.core.Constants.WebSocket.WS_PATH_CONVERSATION_MESSAGES;
+import static com.ai.assistant.external.websocket.codec.WebSocketBinaryCodec.SMILE_SUBPROTOCOL;
 
 @Component
 public class ConversationMessageWebSocketHandler extends AbstractPathAwareWebSocketHandler {
@@ -19,6 +22,11 @@ public class ConversationMessageWebSocketHandler extends AbstractPathAwareWebSoc
         return WS_PATH_CONVERSATION_MESSAGES;
     }
 
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(SMILE_SUBPROTOCOL);
+    }
+
     @Override
     protected WebSocketChannelType channelType() {
         return WebSocketChannelType.CONVERSATION_MESSAGE;
@@ -0,0 +1,61 @@
+package com.ai.assistant.external.websocket.outbound;
+
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * A frame encoded once and shared by every recipient. Each session gets its own buffer that
+ * wraps the same immutable bytes, so fan-out neither copies nor re-encodes the payload and no
+ * reference counts need to be balanced across sessions.
+ */
+public final class EncodedFrame {
+
+    private final WebSocketMessage.Type type;
+    private final byte[] bytes;
+
+    private EncodedFrame(WebSocketMessage.Type type, byte[] bytes) {
+        this.type = type;
+        this.bytes = bytes;
+    }
+
+    public static EncodedFrame text(String payload) {
+        return new EncodedFrame(WebSocketMessage.Type.TEXT, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EncodedFrame binary(byte[] payload) {
+        return new EncodedFrame(WebSocketMessage.Type.BINARY, payload);
+    }
+
+    /** Joins text frames into one; concatenated UTF-8 sequences stay valid UTF-8. */
+    public static EncodedFrame concat(List<EncodedFrame> frames) {
+        int length = 0;
+        for (EncodedFrame frame : frames) {
+            if (frame.type != WebSocketMessage.Type.TEXT) {
+                throw new IllegalArgumentException("Only text frames can be joined");
+            }
+            length += frame.bytes.length;
+        }
+        byte[] joined = new byte[length];
+        int offset = 0;
+        for (EncodedFrame frame : frames) {
+            System.arraycopy(frame.bytes, 0, joined, offset, frame.bytes.length);
+            offset += frame.bytes.length;
+        }
+        return new EncodedFrame(WebSocketMessage.Type.TEXT, joined);
+    }
+
+    public boolean isText() {
+        return type == WebSocketMessage.Type.TEXT;
+    }
+
+    public WebSocketMessage toMessage(WebSocketSession session) {
+        return new WebSocketMessage(type, session.bufferFactory().wrap(bytes));
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ai.assistant.external.websocket.outbound;
+
+import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.enums.WebSocketOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Creates the outbound of every session and publishes queue depth and drop counts per channel.
+ * AI token streams keep their own buffer size and overflow policy; every other channel shares
+ * the {@code websocket.outbound} defaults. {@link WebSocketOverflowPolicy#BATCH} only makes sense
+ * for raw token text, so it is rejected at startup for the shared channels.
+ */
+@Component
+public class WebSocketOutboundRegistry {
+
+    private final Map<String, WebSocketSessionOutbound> outbounds = new ConcurrentHashMap<>();
+    private final Map<WebSocketChannelType, Counter> dropCounters = new EnumMap<>(WebSocketChannelType.class);
+    private final MeterRegistry meterRegistry;
+    private final int bufferSize;
+    private final WebSocketOverflowPolicy overflowPolicy;
+    private final int aiTokenBufferSize;
+    private final WebSocketOverflowPolicy aiTokenOverflowPolicy;
+
+    public WebSocketOutboundRegistry(MeterRegistry meterRegistry,
+                                     @Value("${websocket.outbound.buffer-size}") int bufferSize,
+                                     @Value("${websocket.outbound.overflow-policy}") WebSocketOverflowPolicy overflowPolicy,
+                                     @Value("${websocket.ai-token.buffer-size}") int aiTokenBufferSize,
+                                     @Value("${websocket.ai-token.overflow-policy}") WebSocketOverflowPolicy aiTokenOverflowPolicy) {
+        if (overflowPolicy == WebSocketOverflowPolicy.BATCH) {
+            throw new IllegalStateException("websocket.outbound.overflow-policy=BATCH is only supported for the AI token stream");
+        }
+        this.meterRegistry = meterRegistry;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.aiTokenBufferSize = aiTokenBufferSize;
+        this.aiTokenOverflowPolicy = aiTokenOverflowPolicy;
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        for (WebSocketChannelType type : WebSocketChannelType.values()) {
+            Tags tags = Tags.of("channel", type.name(), "policy", policyFor(type).name());
+            dropCounters.put(type, meterRegistry.counter("ws.outbound.dropped", tags));
+            meterRegistry.gauge("ws.outbound.queue.depth", tags, outbounds, o ->
+                    o.values().stream()
+                            .filter(outbound -> outbound.channel() == type)
+                            .mapToInt(WebSocketSessionOutbound::queued)
+                            .sum());
+        }
+    }
+
+    public WebSocketSessionOutbound open(WebSocketChannelType type, WebSocketSession session) {
+        WebSocketSessionOutbound outbound = new WebSocketSessionOutbound(
+                session, type, capacityFor(type), policyFor(type), dropCounters.get(type));
+        outbounds.put(session.getId(), outbound);
+        return outbound;
+    }
+
+    public void close(WebSocketSession session) {
+        WebSocketSessionOutbound outbound = outbounds.remove(session.getId());
+        if (outbound != null) {
+            outbound.close();
+        }
+    }
+
+    private int capacityFor(WebSocketChannelType type) {
+        return type == WebSocketChannelType.AI_TOKEN_STREAM ? aiTokenBufferSize : bufferSize;
+    }
+
+    private WebSocketOverflowPolicy policyFor(WebSocketChannelType type) {
+        return type == WebSocketChannelType.AI_TOKEN_STREAM ? aiTokenOverflowPolicy : overflowPolicy;
+    }
+}
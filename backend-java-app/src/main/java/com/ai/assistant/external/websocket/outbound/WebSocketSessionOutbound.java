@@ -0,0 +1,113 @@
+package com.ai.assistant.external.websocket.outbound;
+
+import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.enums.WebSocketOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Long-lived outbound stream for a single session. Frames are queued into a bounded sink whose
+ * {@link #messages()} the handler passes to {@link WebSocketSession#send} exactly once; the
+ * overflow policy decides what happens when the client stops keeping up.
+ */
+@Slf4j
+public class WebSocketSessionOutbound {
+
+    private static final String SESSION_ATTRIBUTE = WebSocketSessionOutbound.class.getName();
+
+    private final WebSocketSession session;
+    private final WebSocketChannelType channel;
+    private final WebSocketOverflowPolicy overflowPolicy;
+    private final Queue<EncodedFrame> queue;
+    private final Sinks.Many<EncodedFrame> sink;
+    private final Counter dropped;
+
+    WebSocketSessionOutbound(WebSocketSession session,
+                             WebSocketChannelType channel,
+                             int capacity,
+                             WebSocketOverflowPolicy overflowPolicy,
+                             Counter dropped) {
+        this.session = session;
+        this.channel = channel;
+        this.overflowPolicy = overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(queue);
+        this.dropped = dropped;
+        session.getAttributes().put(SESSION_ATTRIBUTE, this);
+    }
+
+    /** The outbound attached to the session, or {@code null} if the session has none (yet). */
+    public static WebSocketSessionOutbound of(WebSocketSession session) {
+        return (WebSocketSessionOutbound) session.getAttributes().get(SESSION_ATTRIBUTE);
+    }
+
+    public Flux<WebSocketMessage> messages() {
+        return sink.asFlux().map(frame -> frame.toMessage(session));
+    }
+
+    /** Queues a frame; returns {@code false} if it could not be delivered to this session. */
+    public synchronized boolean emit(EncodedFrame frame) {
+        Sinks.EmitResult result = sink.tryEmitNext(frame);
+        if (result.isSuccess()) {
+            return true;
+        }
+        if (result != Sinks.EmitResult.FAIL_OVERFLOW) {
+            log.debug("[ws:outbound:closed] channel={} sessionId={} result={}", channel, session.getId(), result);
+            dropped.increment();
+            return false;
+        }
+
+        log.debug("[ws:outbound:overflow] channel={} sessionId={} policy={}", channel, session.getId(), overflowPolicy);
+        return switch (overflowPolicy) {
+            // only configured for AI token text; binary frames cannot be joined and degrade to dropping the oldest
+            case BATCH -> frame.isText() ? batch(frame) : dropOldest(frame);
+            case DROP_OLDEST -> dropOldest(frame);
+            case ERROR -> {
+                log.warn("[ws:outbound:slow-consumer] channel={} sessionId={} closing session", channel, session.getId());
+                dropped.increment();
+                sink.tryEmitError(new IllegalStateException("Outbound buffer overflow"));
+                session.close(CloseStatus.POLICY_VIOLATION.withReason("Slow consumer")).subscribe();
+                yield false;
+            }
+        };
+    }
+
+    private boolean batch(EncodedFrame frame) {
+        List<EncodedFrame> pending = new ArrayList<>(queue.size() + 1);
+        EncodedFrame next;
+        while ((next = queue.poll()) != null) {
+            pending.add(next);
+        }
+        pending.add(frame);
+        return sink.tryEmitNext(EncodedFrame.concat(pending)).isSuccess();
+    }
+
+    private boolean dropOldest(EncodedFrame frame) {
+        queue.poll();
+        dropped.increment();
+        return sink.tryEmitNext(frame).isSuccess();
+    }
+
+    public WebSocketChannelType channel() {
+        return channel;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    public void close() {
+        sink.tryEmitComplete();
+        session.getAttributes().remove(SESSION_ATTRIBUTE);
+    }
+}
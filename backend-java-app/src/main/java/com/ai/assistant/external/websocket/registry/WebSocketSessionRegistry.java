@@ -2,6 +2,7 @@ package com.ai.assistant.external.websocket.registry;
 
 import com.ai.assistant.enums.WebSocketChannelType;
 import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
 
 import java.util.Set;
 
@@ -9,4 +10,9 @@ public interface WebSocketSessionRegistry {
     void register(WebSocketChannelType type, String key, WebSocketSession session);
     Set<WebSocketSession> getSessions(WebSocketChannelType type, String key);
     void remove(WebSocketChannelType type, String key, WebSocketSession session);
-}
\ No newline at end of file
+
+    /** Whether any other node holds sessions for the key; a node-local registry never does. */
+    default Mono<Boolean> hasRemoteSessions(WebSocketChannelType type, String key) {
+        return Mono.just(false);
+    }
+}
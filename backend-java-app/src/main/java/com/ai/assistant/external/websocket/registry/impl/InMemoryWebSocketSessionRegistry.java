@@ -51,6 +51,11 @@ public class InMemoryWebSocketSessionRegistry implements WebSocketSessionRegistr
         return sessions.getOrDefault(type, Map.of()).getOrDefault(key, Set.of());
     }
 
+    /** Keys of the channel that currently have at least one session on this node. */
+    public Set<String> getKeys(WebSocketChannelType type) {
+        return sessions.getOrDefault(type, Map.of()).keySet();
+    }
+
     @Override
     public void remove(WebSocketChannelType type, String key, WebSocketSession session) {
         Map<String, Set<WebSocketSession>> channelMap = sessions.get(type);
@@ -0,0 +1,147 @@
+package com.ai.assistant.external.websocket.registry.impl;
+
+import com.ai.assistant.core.cluster.NodeIdentity;
+import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cluster-aware registry: sessions stay in the local {@link InMemoryWebSocketSessionRegistry},
+ * and a Redis set per channel key records which nodes currently hold at least one of them.
+ * Entries expire unless the heartbeat refreshes them, so a crashed node drops out on its own.
+ * Redis updates for one key are chained and decide add/remove from the local state when they run,
+ * so a quick register/deregister can never leave a stale entry behind. Remote lookups are cached
+ * per key for a short TTL, so sends do not each pay an SMEMBERS round trip and a node joining a
+ * key is noticed within that TTL.
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "websocket.cluster", name = "enabled", havingValue = "true")
+public class RedisWebSocketSessionRegistry implements WebSocketSessionRegistry {
+
+    private final InMemoryWebSocketSessionRegistry local;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final String instance;
+    private final Duration nodeTtl;
+    private final Duration shutdownTimeout;
+    private final Cache<String, Boolean> remoteLookups;
+
+    private final Map<String, Mono<Void>> syncChains = new ConcurrentHashMap<>();
+
+    public RedisWebSocketSessionRegistry(InMemoryWebSocketSessionRegistry local,
+                                         ReactiveRedisTemplate<String, String> redisTemplate,
+                                         NodeIdentity nodeIdentity,
+                                         @Value("${websocket.cluster.node-ttl}") Duration nodeTtl,
+                                         @Value("${websocket.cluster.shutdown-timeout}") Duration shutdownTimeout,
+                                         @Value("${websocket.cluster.remote-lookup-ttl}") Duration remoteLookupTtl) {
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.instance = nodeIdentity.getId();
+        this.nodeTtl = nodeTtl;
+        this.shutdownTimeout = shutdownTimeout;
+        this.remoteLookups = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(remoteLookupTtl)
+                .build();
+    }
+
+    private String nodesKey(WebSocketChannelType type, String key) {
+        return "ws:" + type.name() + ":" + key + ":nodes";
+    }
+
+    @Override
+    public void register(WebSocketChannelType type, String key, WebSocketSession session) {
+        local.register(type, key, session);
+        sync(type, key);
+    }
+
+    @Override
+    public Set<WebSocketSession> getSessions(WebSocketChannelType type, String key) {
+        return local.getSessions(type, key);
+    }
+
+    @Override
+    public void remove(WebSocketChannelType type, String key, WebSocketSession session) {
+        local.remove(type, key, session);
+        sync(type, key);
+    }
+
+    @Override
+    public Mono<Boolean> hasRemoteSessions(WebSocketChannelType type, String key) {
+        String nodesKey = nodesKey(type, key);
+        Boolean cached = remoteLookups.getIfPresent(nodesKey);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return redisTemplate.opsForSet().members(nodesKey)
+                .any(node -> !instance.equals(node))
+                .doOnNext(remote -> remoteLookups.put(nodesKey, remote))
+                .onErrorResume(e -> {
+                    log.warn("[ws:cluster:registry:lookup:error] type={} key={} error={}", type, key, e.toString());
+                    return Mono.just(false);
+                });
+    }
+
+    /** Re-announces every key held here; runs well inside the node TTL. */
+    @Scheduled(fixedDelayString = "${websocket.cluster.heartbeat-interval}")
+    public void heartbeat() {
+        for (WebSocketChannelType type : WebSocketChannelType.values()) {
+            for (String key : local.getKeys(type)) {
+                sync(type, key);
+            }
+        }
+    }
+
+    /** Takes this node out of every set it announced, instead of waiting for the TTL. */
+    @PreDestroy
+    public void deregisterNode() {
+        try {
+            Flux.fromArray(WebSocketChannelType.values())
+                    .flatMap(type -> Flux.fromIterable(local.getKeys(type))
+                            .map(key -> nodesKey(type, key)))
+                    .flatMap(nodesKey -> redisTemplate.opsForSet().remove(nodesKey, instance))
+                    .then()
+                    .block(shutdownTimeout);
+        } catch (RuntimeException e) {
+            log.warn("[ws:cluster:registry:shutdown:error] instance={} error={}", instance, e.toString());
+        }
+    }
+
+    private void sync(WebSocketChannelType type, String key) {
+        String nodesKey = nodesKey(type, key);
+        Mono<Void> step = Mono.defer(() -> local.getSessions(type, key).isEmpty()
+                        ? redisTemplate.opsForSet().remove(nodesKey, instance)
+                                .doOnNext(removed -> log.debug("[ws:cluster:registry:remove] key={} instance={}", nodesKey, instance))
+                                .then()
+                        : redisTemplate.opsForSet().add(nodesKey, instance)
+                                .then(redisTemplate.expire(nodesKey, nodeTtl))
+                                .doOnNext(ok -> log.debug("[ws:cluster:registry:add] key={} instance={}", nodesKey, instance))
+                                .then())
+                .onErrorResume(e -> {
+                    log.warn("[ws:cluster:registry:sync:error] key={} error={}", nodesKey, e.toString());
+                    return Mono.empty();
+                });
+
+        Mono<Void> chain = syncChains.compute(nodesKey, (k, previous) ->
+                (previous == null ? step : previous.then(step)).cache());
+        chain.doFinally(signal -> syncChains.remove(nodesKey, chain)).subscribe();
+    }
+}
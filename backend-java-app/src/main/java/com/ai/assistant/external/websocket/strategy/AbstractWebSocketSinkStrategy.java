@@ -4,42 +4,52 @@ import com.ai.assistant.external.redis.service.RedisParticipantService;
 import com.ai.assistant.external.redis.service.RedisReadyFlagService;
 import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.cluster.WebSocketClusterBroker;
+import com.ai.assistant.external.websocket.codec.WebSocketBinaryCodec;
+import com.ai.assistant.external.websocket.outbound.EncodedFrame;
+import com.ai.assistant.external.websocket.outbound.WebSocketSessionOutbound;
 import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
-import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import com.ai.assistant.usecase.service.ParticipantService;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.web.reactive.socket.WebSocketSession;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
 import java.util.Set;
-
-import static com.ai.assistant.core.Constants.Resilience.Wrapper.WS_RESILIENCE_WRAPPER;
+import java.util.concurrent.Callable;
 
 @Slf4j
 public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkStrategy<T> {
 
-    private final ResilienceWrapper resilienceWrapper;
+    private static final String USER_ID_ATTRIBUTE = "ws.userId";
+
     protected final RedisReadyFlagService redisReadyFlagService;
-    private final WebSocketSessionRegistry sessionRegistry;
+    protected final WebSocketSessionRegistry sessionRegistry;
+    protected final WebSocketClusterBroker clusterBroker;
     protected final RedisParticipantService redisParticipantService;
     protected final ParticipantService participantService;
 
     protected AbstractWebSocketSinkStrategy(
-            @Qualifier(WS_RESILIENCE_WRAPPER) ResilienceWrapper resilienceWrapper,
             RedisReadyFlagService redisReadyFlagService,
             WebSocketSessionRegistry sessionRegistry,
+            WebSocketClusterBroker clusterBroker,
             RedisParticipantService redisParticipantService,
             ParticipantService participantService
     ) {
-        this.resilienceWrapper = resilienceWrapper;
         this.redisReadyFlagService = redisReadyFlagService;
         this.sessionRegistry = sessionRegistry;
+        this.clusterBroker = clusterBroker;
         this.redisParticipantService = redisParticipantService;
         this.participantService = participantService;
     }
 
+    @PostConstruct
+    public void registerClusterDelivery() {
+        clusterBroker.registerLocalDelivery(channelType(), this::deliverLocal);
+    }
+
     protected abstract WebSocketChannelType channelType();
 
     protected abstract Flux<String> encode(Flux<T> stream);
@@ -55,6 +65,7 @@ public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkS
 
         log.debug("[ws:{}:register:init] key={} userId={}", channel, key, context.userId());
 
+        session.getAttributes().put(USER_ID_ATTRIBUTE, context.userId());
         sessionRegistry.register(channelType(), key, session);
         log.debug("[ws:{}:register:sessionAdded] key={} sessionId={}", channel, key, session.getId());
 
@@ -69,7 +80,15 @@ public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkS
 
         sessionRegistry.remove(channelType(), key, session);
         log.debug("[ws:{}:deregister] key={} userId={} offline", channelType(), key, context.userId());
-        return Mono.empty();
+
+        // another tab of the same user keeps the readiness entry alive
+        boolean stillConnected = sessionRegistry.getSessions(channelType(), key).stream()
+                .anyMatch(s -> context.userId().equals(s.getAttributes().get(USER_ID_ATTRIBUTE)));
+        if (stillConnected) {
+            return Mono.empty();
+        }
+        return redisReadyFlagService.markNotReady(key, context.userId())
+                .onErrorResume(e -> Mono.empty());
     }
 
     @Override
@@ -81,7 +100,8 @@ public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkS
                 .next()
                 .flatMap(json -> {
                     log.debug("[ws:{}:send:init] key={} payload={}", channel, key, json);
-                    return sendToRegisteredSessions(key, json);
+                    return deliverLocal(key, json, () -> encodeSmile(payload, json))
+                            .then(clusterBroker.publish(channelType(), key, json));
                 })
                 .doOnSuccess(v -> log.debug("[ws:{}:send:complete] key={} sent successfully", channel, key))
                 .doOnError(e -> log.error("[ws:{}:send:error] key={} error={}", channel, key, e.toString(), e));
@@ -97,36 +117,27 @@ public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkS
 
         String conversationId = context.getOrThrow("conversationId");
 
-        return redisParticipantService.isParticipant(conversationId, userId)
-                .flatMap(found -> {
-                    Mono<Boolean> allowed;
-                    if (Boolean.TRUE.equals(found)) {
-                        allowed = Mono.just(true);
-                    } else {
-                        allowed = participantService.isParticipant(Long.parseLong(conversationId), userId)
-                                .flatMap(db -> {
-                                    if (Boolean.TRUE.equals(db)) {
-                                        return redisParticipantService.addParticipant(conversationId, userId)
-                                                .thenReturn(true);
-                                    }
-                                    return Mono.just(false);
-                                });
-                    }
-
-                    return allowed.flatMap(isMember -> {
-                        if (!isMember) {
-                            log.warn("[ws:{}:receive:forbidden] userId={} is not an active participant of conversation={}", channel, userId, key);
-                            return session.send(Mono.just(session.textMessage("You are not a participant of this conversation.")))
-                                    .then(session.close())
+        // served from the membership cache on the hot path
+        return participantService.isParticipant(Long.parseLong(conversationId), userId)
+                .flatMap(isMember -> {
+                    if (!isMember) {
+                        log.warn("[ws:{}:receive:forbidden] userId={} is not an active participant of conversation={}", channel, userId, key);
+                        WebSocketSessionOutbound outbound = WebSocketSessionOutbound.of(session);
+                        if (outbound == null) {
+                            return session.close()
                                     .then(Mono.error(new IllegalAccessException("User is not participant")));
                         }
+                        // completing the outbound lets the frame drain; the handler closes the session after it
+                        outbound.emit(EncodedFrame.text("You are not a participant of this conversation."));
+                        outbound.close();
+                        return Mono.error(new IllegalAccessException("User is not participant"));
+                    }
 
-                        return Mono.just(rawMessage)
-                                .map(this::parseMessage)
-                                .flatMap(payload -> send(context, payload))
-                                .doOnSuccess(v -> log.debug("[ws:{}:receive:processed] key={} message broadcasted", channel, key))
-                                .doOnError(e -> log.error("[ws:{}:receive:error] key={} err={}", channel, key, e.toString(), e));
-                    });
+                    return Mono.just(rawMessage)
+                            .map(this::parseMessage)
+                            .flatMap(payload -> send(context, payload))
+                            .doOnSuccess(v -> log.debug("[ws:{}:receive:processed] key={} message broadcasted", channel, key))
+                            .doOnError(e -> log.error("[ws:{}:receive:error] key={} err={}", channel, key, e.toString(), e));
                 });
     }
 
@@ -138,20 +149,69 @@ public abstract class AbstractWebSocketSinkStrategy<T> implements WebSocketSinkS
                 .doOnNext(ready -> log.debug("[ws:{}:isReady] key={} userId={} ready={}", channelType(), key, context.userId(), ready));
     }
 
-    private Mono<Void> sendToRegisteredSessions(String key, String payload) {
+    @Override
+    public String readinessKey(WebSocketContext context) {
+        return extractKey(context);
+    }
+
+    /** Delivers an encoded payload to this node's sessions only; frames from other nodes land here too. */
+    protected Mono<Void> deliverLocal(String key, String payload) {
+        return deliverLocal(key, payload, () -> WebSocketBinaryCodec.jsonToSmile(payload));
+    }
+
+    protected Mono<Void> deliverLocal(String key, String payload, Callable<byte[]> smile) {
+        return Mono.fromRunnable(() -> emitToLocalSessions(key, payload, smile));
+    }
+
+    /**
+     * Smile form of a payload whose JSON form is {@code json}. The default transcodes the JSON token by
+     * token; channels with a typed codec override it to serialize the payload straight to Smile.
+     */
+    protected byte[] encodeSmile(T payload, String json) throws IOException {
+        return WebSocketBinaryCodec.jsonToSmile(json);
+    }
+
+    protected void emitToLocalSessions(String key, String payload) {
+        emitToLocalSessions(key, payload, () -> WebSocketBinaryCodec.jsonToSmile(payload));
+    }
+
+    /**
+     * Encodes the payload once per wire format and queues it on the outbound of every local session.
+     * The Smile form is only produced if a binary session is present and falls back to the text frame.
+     * Queuing never blocks; a session that is closed or over its buffer is handled by its own
+     * overflow policy.
+     */
+    protected void emitToLocalSessions(String key, String payload, Callable<byte[]> smile) {
         Set<WebSocketSession> sessions = sessionRegistry.getSessions(channelType(), key);
-        log.debug("[ws:{}:broadcast:init] key={} sessionCount={}", channelType(), key, sessions.size());
-
-        return Flux.fromIterable(sessions)
-                .flatMap(session ->
-                        resilienceWrapper.wrap(session.send(Mono.just(session.textMessage(payload))))
-                                .doOnSuccess(v -> log.debug("[ws:{}:broadcast:ok] sessionId={} key={}", channelType(), session.getId(), key))
-                                .onErrorResume(e -> {
-                                    log.warn("[ws:{}:broadcast:fail] sessionId={} key={} err={}", channelType(), session.getId(), key, e.toString());
-                                    return Mono.empty();
-                                })
-                )
-                .then();
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        EncodedFrame text = EncodedFrame.text(payload);
+        EncodedFrame binary = null;
+        log.debug("[ws:{}:broadcast:init] key={} sessionCount={} bytes={}", channelType(), key, sessions.size(), text.size());
+
+        for (WebSocketSession session : sessions) {
+            EncodedFrame frame = text;
+            if (WebSocketBinaryCodec.isBinary(session)) {
+                if (binary == null) {
+                    binary = encodeBinary(smile, text);
+                }
+                frame = binary;
+            }
+            WebSocketSessionOutbound outbound = WebSocketSessionOutbound.of(session);
+            if (outbound == null || !outbound.emit(frame)) {
+                log.debug("[ws:{}:broadcast:skip] sessionId={} key={}", channelType(), session.getId(), key);
+            }
+        }
     }
 
+    private EncodedFrame encodeBinary(Callable<byte[]> smile, EncodedFrame text) {
+        try {
+            return EncodedFrame.binary(smile.call());
+        } catch (Exception e) {
+            log.warn("[ws:{}:encode:binary:error] err={}", channelType(), e.toString());
+            return text;
+        }
+    }
 }
@@ -16,4 +16,7 @@ public interface WebSocketSinkStrategy<T> {
     }
 
     Mono<Boolean> isReady(WebSocketContext context);
+
+    /** Key under which readiness for this context is tracked and signalled. */
+    String readinessKey(WebSocketContext context);
 }
\ No newline at end of file
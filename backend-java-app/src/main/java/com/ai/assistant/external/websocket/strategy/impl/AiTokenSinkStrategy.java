@@ -4,30 +4,27 @@ import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.external.redis.service.RedisParticipantService;
 import com.ai.assistant.external.redis.service.RedisReadyFlagService;
 import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.cluster.WebSocketClusterBroker;
 import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
 import com.ai.assistant.external.websocket.strategy.AbstractWebSocketSinkStrategy;
-import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import com.ai.assistant.usecase.service.ParticipantService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static com.ai.assistant.core.Constants.Resilience.Wrapper.WS_RESILIENCE_WRAPPER;
-
 @Slf4j
 @Component
 public class AiTokenSinkStrategy extends AbstractWebSocketSinkStrategy<String> {
 
     public AiTokenSinkStrategy(
-            @Qualifier(WS_RESILIENCE_WRAPPER) ResilienceWrapper resilienceWrapper,
             RedisReadyFlagService redisReadyFlagService,
             WebSocketSessionRegistry sessionRegistry,
+            WebSocketClusterBroker clusterBroker,
             RedisParticipantService redisParticipantService,
             ParticipantService participantService
     ) {
-        super(resilienceWrapper, redisReadyFlagService, sessionRegistry, redisParticipantService, participantService);
+        super(redisReadyFlagService, sessionRegistry, clusterBroker, redisParticipantService, participantService);
     }
 
     @Override
@@ -45,6 +42,27 @@ public class AiTokenSinkStrategy extends AbstractWebSocketSinkStrategy<String> {
         return "ai-token:" + context.getOrThrow("conversationId");
     }
 
+    @Override
+    public Mono<Void> send(WebSocketContext context, String payload) {
+        String key = extractKey(context);
+        return deliverLocal(key, payload)
+                .then(clusterBroker.publish(channelType(), key, payload));
+    }
+
+    /**
+     * Forwards tokens to every session of the conversation in arrival order. Tokens are handed
+     * to each local session's outbound buffer synchronously and relayed through the cluster broker
+     * while other nodes hold sessions for the conversation; that check is made per token against
+     * the registry's short-lived lookup cache, so a session joining elsewhere mid-reply gets the rest.
+     */
+    public Flux<String> stream(WebSocketContext context, Flux<String> tokens) {
+        String key = extractKey(context);
+        return tokens.concatMap(token -> {
+            emitToLocalSessions(key, token);
+            return clusterBroker.publish(channelType(), key, token).thenReturn(token);
+        });
+    }
+
     @Override
     public Mono<Boolean> isReady(WebSocketContext context) {
         String channelKey = extractKey(context);
@@ -57,5 +75,4 @@ public class AiTokenSinkStrategy extends AbstractWebSocketSinkStrategy<String> {
     protected String parseMessage(String rawMessage) {
         return rawMessage;
     }
-
 }
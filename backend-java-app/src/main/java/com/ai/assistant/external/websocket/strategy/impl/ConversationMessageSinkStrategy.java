@@ -9,49 +9,48 @@ import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.external.redis.service.RedisReadyFlagService;
 import com.ai.assistant.enums.WebSocketChannelType;
 import com.ai.assistant.enums.RecipientType;
+import com.ai.assistant.external.websocket.cluster.WebSocketClusterBroker;
 import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
 import com.ai.assistant.external.websocket.strategy.AbstractWebSocketSinkStrategy;
 import com.ai.assistant.external.ai.service.AiMessageOrchestrator;
-import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import com.ai.assistant.usecase.service.ParticipantService;
 import com.ai.assistant.usecase.service.MessageService;
 import com.ai.assistant.usecase.service.SystemNotificationService;
 import com.ai.assistant.usecase.service.NotificationService;
 import org.springframework.context.annotation.Lazy;
+import com.ai.assistant.external.websocket.codec.MessageEventCodec;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.socket.WebSocketSession;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import static com.ai.assistant.core.Constants.Resilience.Wrapper.WS_RESILIENCE_WRAPPER;
+import java.io.IOException;
 
 @Slf4j
 @Component
 public class ConversationMessageSinkStrategy extends AbstractWebSocketSinkStrategy<MessageEvent> {
 
-    private final ObjectMapper objectMapper;
+    private final MessageEventCodec messageEventCodec;
     private final MessageService messageService;
     private final SystemNotificationService systemNotificationService;
     private final NotificationService notificationService;
     private final AiMessageOrchestrator aiMessageOrchestrator;
 
     public ConversationMessageSinkStrategy(
-            @Qualifier(WS_RESILIENCE_WRAPPER) ResilienceWrapper resilienceWrapper,
             RedisReadyFlagService redisReadyFlagService,
             WebSocketSessionRegistry sessionRegistry,
-            ObjectMapper objectMapper,
+            WebSocketClusterBroker clusterBroker,
+            MessageEventCodec messageEventCodec,
             RedisParticipantService redisParticipantService,
             ParticipantService participantService,
             MessageService messageService,
             SystemNotificationService systemNotificationService,
             @Lazy NotificationService notificationService,
             @Lazy AiMessageOrchestrator aiMessageOrchestrator) {
-        super(resilienceWrapper, redisReadyFlagService, sessionRegistry, redisParticipantService, participantService);
-        this.objectMapper = objectMapper;
+        super(redisReadyFlagService, sessionRegistry, clusterBroker, redisParticipantService, participantService);
+        this.messageEventCodec = messageEventCodec;
         this.messageService = messageService;
         this.systemNotificationService = systemNotificationService;
         this.notificationService = notificationService;
@@ -67,7 +66,7 @@ public class ConversationMessageSinkStrategy extends AbstractWebSocketSinkStrate
     protected Flux<String> encode(Flux<MessageEvent> stream) {
         return stream.handle((dto, sink) -> {
             try {
-                sink.next(objectMapper.writeValueAsString(dto));
+                sink.next(messageEventCodec.write(dto));
             } catch (JsonProcessingException e) {
                 log.error("[ws:conversation-message:encode:error] Failed to serialize MessageDTO: {}", dto, e);
                 sink.error(new ApplicationException(ErrorCode.JSON_PROCESSING_EXCEPTION, e, dto));
@@ -75,6 +74,11 @@ public class ConversationMessageSinkStrategy extends AbstractWebSocketSinkStrate
         });
     }
 
+    @Override
+    protected byte[] encodeSmile(MessageEvent payload, String json) throws IOException {
+        return messageEventCodec.writeSmile(payload);
+    }
+
     @Override
     protected String extractKey(WebSocketContext context) {
         return "conversation:" + context.getOrThrow("conversationId");
@@ -102,7 +106,7 @@ public class ConversationMessageSinkStrategy extends AbstractWebSocketSinkStrate
     @Override
     protected MessageEvent parseMessage(String raw) {
         try {
-            return objectMapper.readValue(raw, MessageEvent.class);
+            return messageEventCodec.read(raw);
         } catch (JsonProcessingException e) {
             log.warn("[ws:parseMessage:error] Failed to parse MessageEvent. raw={}", raw, e);
             throw new ApplicationException(ErrorCode.JSON_PROCESSING_EXCEPTION, e, raw);
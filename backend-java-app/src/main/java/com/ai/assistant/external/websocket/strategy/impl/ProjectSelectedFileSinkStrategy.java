@@ -4,30 +4,27 @@ import com.ai.assistant.external.redis.service.RedisParticipantService;
 import com.ai.assistant.external.redis.service.RedisReadyFlagService;
 import com.ai.assistant.context.WebSocketContext;
 import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.external.websocket.cluster.WebSocketClusterBroker;
 import com.ai.assistant.external.websocket.registry.WebSocketSessionRegistry;
 import com.ai.assistant.external.websocket.strategy.AbstractWebSocketSinkStrategy;
-import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import com.ai.assistant.usecase.service.ParticipantService;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
-import static com.ai.assistant.core.Constants.Resilience.Wrapper.WS_RESILIENCE_WRAPPER;
-
 @Slf4j
 @Component
 public class ProjectSelectedFileSinkStrategy extends AbstractWebSocketSinkStrategy<String> {
 
     public ProjectSelectedFileSinkStrategy(
-            @Qualifier(WS_RESILIENCE_WRAPPER) ResilienceWrapper resilienceWrapper,
             RedisReadyFlagService redisReadyFlagService,
             WebSocketSessionRegistry sessionRegistry,
+            WebSocketClusterBroker clusterBroker,
             RedisParticipantService redisParticipantService,
             ParticipantService participantService
     ) {
-        super(resilienceWrapper, redisReadyFlagService,
-                sessionRegistry, redisParticipantService, participantService);
+        super(redisReadyFlagService,
+                sessionRegistry, clusterBroker, redisParticipantService, participantService);
     }
 
     @Override
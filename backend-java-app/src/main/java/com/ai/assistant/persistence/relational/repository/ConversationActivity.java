@@ -0,0 +1,7 @@
+package com.ai.assistant.persistence.relational.repository;
+
+import java.time.Instant;
+
+/** Latest activity seen for a conversation: who touched it last and when. */
+public record ConversationActivity(Long conversationId, Long userId, Instant at) {
+}
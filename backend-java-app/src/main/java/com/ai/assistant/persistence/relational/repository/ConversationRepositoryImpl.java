@@ -2,6 +2,7 @@ package com.ai.assistant.persistence.relational.repository;
 
 import com.ai.assistant.enums.ConversationType;
 import com.ai.assistant.persistence.relational.entity.Conversation;
+import io.r2dbc.spi.Row;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -10,62 +11,81 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.List;
 
 @Repository
 @RequiredArgsConstructor
 public class ConversationRepositoryImpl implements ConversationRepositoryCustom {
+
+    /**
+     * Ids of conversations the user can see, either as a direct participant or through project
+     * membership. UNION de-duplicates ids only, so no DISTINCT over full rows is needed.
+     */
+    private static final String MEMBER_CONVERSATION_IDS = """
+                SELECT p.conversation_id FROM conversation_participants p
+                WHERE p.user_id = :userId
+                  AND p.deleted_at IS NULL
+                UNION
+                SELECT pc.id FROM project_participants pp
+                JOIN conversations pc ON pc.project_id = pp.project_id
+                WHERE pp.user_id = :userId
+                  AND pp.deleted_at IS NULL
+            """;
+
     private final DatabaseClient databaseClient;
     private final R2dbcEntityTemplate template;
 
     @Override
     public Flux<Conversation> findByUserId(Long userId, long offset, long limit) {
         String sql = """
-                SELECT DISTINCT c.* FROM conversations c
-                LEFT JOIN conversation_participants p ON c.id = p.conversation_id
-                    AND p.user_id = :userId
-                    AND p.deleted_at IS NULL
-                LEFT JOIN project_participants pp ON c.project_id = pp.project_id
-                    AND pp.user_id = :userId
-                    AND pp.deleted_at IS NULL
+                SELECT c.* FROM conversations c
                 WHERE c.deleted_at IS NULL
-                  AND (p.user_id IS NOT NULL OR pp.user_id IS NOT NULL)
-                ORDER BY c.updated_at DESC
+                  AND c.id IN (
+                """ + MEMBER_CONVERSATION_IDS + """
+                  )
+                ORDER BY c.updated_at DESC, c.id DESC
                 LIMIT :limit OFFSET :offset
                 """;
         return databaseClient.sql(sql)
                 .bind("userId", userId)
                 .bind("limit", limit)
                 .bind("offset", offset)
-                .map((row, meta) -> {
-                    Conversation conv = new Conversation();
-                    conv.setId(row.get("id", Long.class));
-                    conv.setType(ConversationType.valueOf(row.get("type", String.class)));
-                    conv.setTitle(row.get("title", String.class));
-                    conv.setProjectId(row.get("project_id", Long.class));
-                    conv.setCreatedById(row.get("created_by", Long.class));
-                    conv.setCreatedAt(row.get("created_at", Instant.class));
-                    conv.setUpdatedById(row.get("updated_by", Long.class));
-                    conv.setUpdatedAt(row.get("updated_at", Instant.class));
-                    conv.setDeletedById(row.get("deleted_by", Long.class));
-                    conv.setDeletedAt(row.get("deleted_at", Instant.class));
-                    conv.setVersion(row.get("version", Long.class));
-                    return conv;
-                })
+                .map((row, meta) -> toConversation(row))
+                .all();
+    }
+
+    @Override
+    public Flux<Conversation> findByUserIdBefore(Long userId, Instant updatedAt, Long id, long limit) {
+        String sql = """
+                SELECT c.* FROM conversations c
+                WHERE c.deleted_at IS NULL
+                  AND c.id IN (
+                """ + MEMBER_CONVERSATION_IDS + """
+                  )
+                """
+                + (updatedAt != null ? "  AND (c.updated_at, c.id) < (:updatedAt, :id)\n" : "")
+                + """
+                ORDER BY c.updated_at DESC, c.id DESC
+                LIMIT :limit
+                """;
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("userId", userId)
+                .bind("limit", limit);
+        if (updatedAt != null) {
+            spec = spec.bind("updatedAt", updatedAt).bind("id", id);
+        }
+        return spec.map((row, meta) -> toConversation(row))
                 .all();
     }
 
     @Override
     public Mono<Long> countByUserId(Long userId) {
         String sql = """
-                SELECT COUNT(DISTINCT c.id) AS cnt FROM conversations c
-                LEFT JOIN conversation_participants p ON c.id = p.conversation_id
-                    AND p.user_id = :userId
-                    AND p.deleted_at IS NULL
-                LEFT JOIN project_participants pp ON c.project_id = pp.project_id
-                    AND pp.user_id = :userId
-                    AND pp.deleted_at IS NULL
+                SELECT COUNT(*) AS cnt FROM conversations c
                 WHERE c.deleted_at IS NULL
-                  AND (p.user_id IS NOT NULL OR pp.user_id IS NOT NULL)
+                  AND c.id IN (
+                """ + MEMBER_CONVERSATION_IDS + """
+                  )
                 """;
         return databaseClient.sql(sql)
                 .bind("userId", userId)
@@ -89,21 +109,7 @@ public class ConversationRepositoryImpl implements ConversationRepositoryCustom
                 .bind("userId", userId)
                 .bind("limit", limit)
                 .bind("offset", offset)
-                .map((row, meta) -> {
-                    Conversation conv = new Conversation();
-                    conv.setId(row.get("id", Long.class));
-                    conv.setType(ConversationType.valueOf(row.get("type", String.class)));
-                    conv.setTitle(row.get("title", String.class));
-                    conv.setProjectId(row.get("project_id", Long.class));
-                    conv.setCreatedById(row.get("created_by", Long.class));
-                    conv.setCreatedAt(row.get("created_at", Instant.class));
-                    conv.setUpdatedById(row.get("updated_by", Long.class));
-                    conv.setUpdatedAt(row.get("updated_at", Instant.class));
-                    conv.setDeletedById(row.get("deleted_by", Long.class));
-                    conv.setDeletedAt(row.get("deleted_at", Instant.class));
-                    conv.setVersion(row.get("version", Long.class));
-                    return conv;
-                })
+                .map((row, meta) -> toConversation(row))
                 .all();
     }
 
@@ -141,21 +147,7 @@ public class ConversationRepositoryImpl implements ConversationRepositoryCustom
         return databaseClient.sql(sql)
                 .bind("projectId", projectId)
                 .bind("userId", userId)
-                .map((row, meta) -> {
-                    Conversation conv = new Conversation();
-                    conv.setId(row.get("id", Long.class));
-                    conv.setType(ConversationType.valueOf(row.get("type", String.class)));
-                    conv.setTitle(row.get("title", String.class));
-                    conv.setProjectId(row.get("project_id", Long.class));
-                    conv.setCreatedById(row.get("created_by", Long.class));
-                    conv.setCreatedAt(row.get("created_at", Instant.class));
-                    conv.setUpdatedById(row.get("updated_by", Long.class));
-                    conv.setUpdatedAt(row.get("updated_at", Instant.class));
-                    conv.setDeletedById(row.get("deleted_by", Long.class));
-                    conv.setDeletedAt(row.get("deleted_at", Instant.class));
-                    conv.setVersion(row.get("version", Long.class));
-                    return conv;
-                })
+                .map((row, meta) -> toConversation(row))
                 .all();
     }
 
@@ -167,4 +159,58 @@ public class ConversationRepositoryImpl implements ConversationRepositoryCustom
                 .bind("id", conversationId)
                 .then();
     }
+
+    /**
+     * Applies many coalesced activity updates in one statement. A row is only touched when the
+     * recorded activity is newer than what it already holds, so late or replayed flushes can never
+     * move updated_at backwards.
+     */
+    @Override
+    public Mono<Long> updateActivityBatch(List<ConversationActivity> activities) {
+        if (activities.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        int size = activities.size();
+        Long[] ids = new Long[size];
+        Long[] userIds = new Long[size];
+        Instant[] times = new Instant[size];
+        for (int i = 0; i < size; i++) {
+            ConversationActivity activity = activities.get(i);
+            ids[i] = activity.conversationId();
+            userIds[i] = activity.userId();
+            times[i] = activity.at();
+        }
+
+        String sql = """
+                UPDATE conversations c
+                SET updated_at = v.at, updated_by = v.user_id
+                FROM UNNEST(:ids::bigint[], :userIds::bigint[], :times::timestamptz[]) AS v(id, user_id, at)
+                WHERE c.id = v.id
+                  AND c.deleted_at IS NULL
+                  AND c.updated_at < v.at
+                """;
+        return databaseClient.sql(sql)
+                .bind("ids", ids)
+                .bind("userIds", userIds)
+                .bind("times", times)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Conversation toConversation(Row row) {
+        Conversation conv = new Conversation();
+        conv.setId(row.get("id", Long.class));
+        conv.setType(ConversationType.valueOf(row.get("type", String.class)));
+        conv.setTitle(row.get("title", String.class));
+        conv.setProjectId(row.get("project_id", Long.class));
+        conv.setCreatedById(row.get("created_by", Long.class));
+        conv.setCreatedAt(row.get("created_at", Instant.class));
+        conv.setUpdatedById(row.get("updated_by", Long.class));
+        conv.setUpdatedAt(row.get("updated_at", Instant.class));
+        conv.setDeletedById(row.get("deleted_by", Long.class));
+        conv.setDeletedAt(row.get("deleted_at", Instant.class));
+        conv.setVersion(row.get("version", Long.class));
+        return conv;
+    }
 }
@@ -4,12 +4,17 @@ import com.ai.assistant.persistence.relational.entity.Message;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepositoryCustom {
     Flux<Message> findByConversationId(Long conversationId, int offset, int limit);
 
+    Flux<Message> findByConversationIdBefore(Long conversationId, LocalDateTime sendDate, Long id, int limit);
+
     Mono<Long> countByConversationId(Long conversationId);
 
     Flux<Message> findUnreadMessages(Long conversationId, java.time.LocalDateTime since);
+
+    Mono<Long> insertBatch(List<Message> messages);
 }
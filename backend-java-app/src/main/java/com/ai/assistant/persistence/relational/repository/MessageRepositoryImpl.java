@@ -6,10 +6,15 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
 
 @Repository
 @RequiredArgsConstructor
@@ -22,13 +27,40 @@ public class MessageRepositoryImpl implements MessageRepositoryCustom {
                 Criteria.where("conversation_id").is(conversationId)
                         .and("deleted_at").isNull()
         )
-                .sort(Sort.by(Sort.Order.desc("send_date")))
+                .sort(Sort.by(Sort.Order.desc("send_date"), Sort.Order.desc("id")))
                 .limit(limit)
                 .offset(offset);
 
         return template.select(query, Message.class);
     }
 
+    /**
+     * Keyset page ordered by (send_date, id) descending. A null position starts from the newest
+     * message; the row comparison lets the planner walk idx_messages_conv_keyset directly.
+     */
+    @Override
+    public Flux<Message> findByConversationIdBefore(Long conversationId, LocalDateTime sendDate, Long id, int limit) {
+        String sql = """
+                SELECT * FROM messages
+                WHERE conversation_id = :conversationId
+                  AND deleted_at IS NULL
+                """
+                + (sendDate != null ? "  AND (send_date, id) < (:sendDate, :id)\n" : "")
+                + """
+                ORDER BY send_date DESC, id DESC
+                LIMIT :limit
+                """;
+
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql)
+                .bind("conversationId", conversationId)
+                .bind("limit", limit);
+        if (sendDate != null) {
+            spec = spec.bind("sendDate", sendDate).bind("id", id);
+        }
+        return spec.map((row, metadata) -> template.getConverter().read(Message.class, row, metadata))
+                .all();
+    }
+
     @Override
     public Mono<Long> countByConversationId(Long conversationId) {
         Query query = Query.query(
@@ -49,4 +81,59 @@ public class MessageRepositoryImpl implements MessageRepositoryCustom {
                 .sort(Sort.by(Sort.Order.desc("send_date")));
         return template.select(query, Message.class);
     }
+
+    /**
+     * Inserts the whole batch with one statement: each column is bound as an array and expanded
+     * with UNNEST, so the statement shape is the same for any batch size. Rows whose message_id
+     * already exists are skipped, which makes a retried flush idempotent.
+     */
+    @Override
+    public Mono<Long> insertBatch(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        int size = messages.size();
+        UUID[] messageIds = new UUID[size];
+        String[] contents = new String[size];
+        Long[] senderIds = new Long[size];
+        Long[] conversationIds = new Long[size];
+        LocalDateTime[] sendDates = new LocalDateTime[size];
+        String[] types = new String[size];
+        String[] recipients = new String[size];
+        String[] replyTo = new String[size];
+        for (int i = 0; i < size; i++) {
+            Message m = messages.get(i);
+            messageIds[i] = m.getMessageId();
+            contents[i] = m.getContent();
+            senderIds[i] = m.getSenderId();
+            conversationIds[i] = m.getConversationId();
+            sendDates[i] = m.getSendDate();
+            types[i] = m.getType().name();
+            recipients[i] = m.getRecipient() != null ? m.getRecipient().name() : "USERS";
+            replyTo[i] = m.getReplyToMessageId();
+        }
+
+        String sql = """
+                INSERT INTO messages (message_id, content, sender_id, conversation_id, send_date, type, recipient,
+                                      reply_to_message_id, created_by, updated_by)
+                SELECT m, c, s, cv, d, t, r, rt::uuid, s, s
+                FROM UNNEST(:messageIds::uuid[], :contents::text[], :senderIds::bigint[], :conversationIds::bigint[],
+                            :sendDates::timestamp[], :types::text[], :recipients::text[], :replyTo::text[])
+                         AS b(m, c, s, cv, d, t, r, rt)
+                ON CONFLICT (message_id) DO NOTHING
+                """;
+
+        return template.getDatabaseClient().sql(sql)
+                .bind("messageIds", messageIds)
+                .bind("contents", contents)
+                .bind("senderIds", senderIds)
+                .bind("conversationIds", conversationIds)
+                .bind("sendDates", sendDates)
+                .bind("types", types)
+                .bind("recipients", recipients)
+                .bind("replyTo", replyTo)
+                .fetch()
+                .rowsUpdated();
+    }
 }
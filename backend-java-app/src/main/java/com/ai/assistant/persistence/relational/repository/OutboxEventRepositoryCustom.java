@@ -1,10 +1,31 @@
 package com.ai.assistant.persistence.relational.repository;
 
+import com.ai.assistant.persistence.relational.entity.OutboxEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 public interface OutboxEventRepositoryCustom {
-    Mono<Void> markAsPublished(List<UUID> ids);
+    Flux<OutboxEvent> claimPending(String owner, Duration lease, int limit);
+
+    Mono<Void> markAsPublished(List<UUID> ids, Instant createdSince);
+
+    Mono<Boolean> tryPartitionMaintenanceLock();
+
+    Mono<Void> createDailyPartition(LocalDate day);
+
+    Flux<LocalDate> findDaysInDefaultPartition();
+
+    Flux<String> findPartitionsEndingBefore(Instant cutoff);
+
+    Mono<Boolean> hasUnpublished(String partition);
+
+    Mono<Void> detachPartition(String partition);
+
+    Mono<Void> dropPartition(String partition);
 }
\ No newline at end of file
@@ -1,11 +1,18 @@
 package com.ai.assistant.persistence.relational.repository;
 
+import com.ai.assistant.persistence.relational.entity.OutboxEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,16 +25,98 @@ public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCus
     private static final String SQL = """
             UPDATE outbox_event
             SET status = 'PUBLISHED',
-            published_at = $1
+            published_at = $1,
+            claimed_by = NULL,
+            claimed_until = NULL
             WHERE id = ANY($2::uuid[])
+              AND created_at >= $3
+            """;
+
+    /**
+     * Leases up to {@code limit} pending events to {@code owner}. SKIP LOCKED lets concurrent
+     * nodes claim disjoint rows; an expired lease makes the row claimable again.
+     */
+    private static final String CLAIM_SQL = """
+            UPDATE outbox_event o
+            SET claimed_by = $1,
+            claimed_until = NOW() + make_interval(secs => $2)
+            WHERE o.id IN (
+                SELECT id FROM outbox_event
+                WHERE status = 'PENDING'
+                  AND (claimed_until IS NULL OR claimed_until < NOW())
+                ORDER BY created_at
+                LIMIT $3
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING o.*
+            """;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String PARTITION_LOCK_SQL = """
+            SELECT pg_try_advisory_xact_lock(hashtext('outbox_event_partitions')) AS locked
+            """;
+
+    private static final String CREATE_PARTITION_SQL = """
+            CREATE TABLE IF NOT EXISTS %s PARTITION OF outbox_event
+            FOR VALUES FROM ('%s') TO ('%s')
+            """;
+
+    private static final String DEFAULT_PARTITION = "outbox_event_default";
+
+    /** UTC days that landed in the default partition because their range did not exist yet. */
+    private static final String DEFAULT_PARTITION_DAYS_SQL = """
+            SELECT DISTINCT (created_at AT TIME ZONE 'UTC')::date AS day
+            FROM outbox_event_default
+            ORDER BY day
+            """;
+
+    private static final String DEFAULT_HOLDS_RANGE_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM outbox_event_default WHERE created_at >= $1 AND created_at < $2
+            ) AS held
+            """;
+
+    /** Re-inserting through the parent routes the moved rows into the freshly created range. */
+    private static final String MOVE_FROM_DEFAULT_SQL = """
+            WITH moved AS (
+                DELETE FROM outbox_event_default
+                WHERE created_at >= $1 AND created_at < $2
+                RETURNING *
+            )
+            INSERT INTO outbox_event SELECT * FROM moved
+            """;
+
+    /** Daily partitions whose upper bound is at or before {@code $1}; the default partition has no bound. */
+    private static final String EXPIRED_PARTITIONS_SQL = """
+            SELECT c.relname AS name
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'outbox_event'
+              AND substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamptz <= $1
+            ORDER BY c.relname
             """;
 
     @Override
-    public Mono<Void> markAsPublished(List<UUID> ids) {
+    public Flux<OutboxEvent> claimPending(String owner, Duration lease, int limit) {
+        return template.getDatabaseClient()
+                .sql(CLAIM_SQL)
+                .bind("$1", owner)
+                .bind("$2", (double) lease.toMillis() / 1000)
+                .bind("$3", limit)
+                .map((row, meta) -> template.getConverter().read(OutboxEvent.class, row, meta))
+                .all()
+                .sort(Comparator.comparing(OutboxEvent::getCreatedAt));
+    }
+
+    @Override
+    public Mono<Void> markAsPublished(List<UUID> ids, Instant createdSince) {
         return template.getDatabaseClient()
                 .sql(SQL)
                 .bind("$1", Instant.now())
                 .bind("$2", ids.toArray(new UUID[0]))
+                .bind("$3", createdSince)
                 .fetch()
                 .rowsUpdated()
                 .doOnSuccess(count ->
@@ -38,5 +127,94 @@ public class OutboxEventRepositoryCustomImpl implements OutboxEventRepositoryCus
                 )
                 .then();
     }
-}
 
+    @Override
+    public Mono<Boolean> tryPartitionMaintenanceLock() {
+        return template.getDatabaseClient()
+                .sql(PARTITION_LOCK_SQL)
+                .map(row -> Boolean.TRUE.equals(row.get("locked", Boolean.class)))
+                .one();
+    }
+
+    /**
+     * Creates the range partition for {@code day}. Postgres refuses the range while the default
+     * partition holds matching rows, so those are moved out with the default detached; the
+     * statements share a connection only when the caller runs this inside a transaction.
+     */
+    @Override
+    public Mono<Void> createDailyPartition(LocalDate day) {
+        String name = "outbox_event_p" + day.format(PARTITION_SUFFIX);
+        Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Mono<Void> create = template.getDatabaseClient()
+                .sql(CREATE_PARTITION_SQL.formatted(name, from, to))
+                .then();
+
+        return template.getDatabaseClient()
+                .sql(DEFAULT_HOLDS_RANGE_SQL)
+                .bind("$1", from)
+                .bind("$2", to)
+                .map(row -> Boolean.TRUE.equals(row.get("held", Boolean.class)))
+                .one()
+                .flatMap(held -> {
+                    if (!held) {
+                        return create.doOnSuccess(v -> log.debug("[outbox:partition:create] partition={}", name));
+                    }
+                    return detachPartition(DEFAULT_PARTITION)
+                            .then(create)
+                            .then(template.getDatabaseClient()
+                                    .sql(MOVE_FROM_DEFAULT_SQL)
+                                    .bind("$1", from)
+                                    .bind("$2", to)
+                                    .fetch()
+                                    .rowsUpdated())
+                            .flatMap(moved -> template.getDatabaseClient()
+                                    .sql("ALTER TABLE outbox_event ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT")
+                                    .then()
+                                    .doOnSuccess(v -> log.info("[outbox:partition:create] Moved rows out of default partition. partition={}, rows={}", name, moved)));
+                });
+    }
+
+    @Override
+    public Flux<LocalDate> findDaysInDefaultPartition() {
+        return template.getDatabaseClient()
+                .sql(DEFAULT_PARTITION_DAYS_SQL)
+                .map(row -> row.get("day", LocalDate.class))
+                .all();
+    }
+
+    @Override
+    public Flux<String> findPartitionsEndingBefore(Instant cutoff) {
+        return template.getDatabaseClient()
+                .sql(EXPIRED_PARTITIONS_SQL)
+                .bind("$1", cutoff)
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    @Override
+    public Mono<Boolean> hasUnpublished(String partition) {
+        return template.getDatabaseClient()
+                .sql("SELECT EXISTS (SELECT 1 FROM " + quote(partition) + " WHERE status <> 'PUBLISHED') AS pending")
+                .map(row -> Boolean.TRUE.equals(row.get("pending", Boolean.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<Void> detachPartition(String partition) {
+        return template.getDatabaseClient()
+                .sql("ALTER TABLE outbox_event DETACH PARTITION " + quote(partition))
+                .then();
+    }
+
+    @Override
+    public Mono<Void> dropPartition(String partition) {
+        return template.getDatabaseClient()
+                .sql("DROP TABLE IF EXISTS " + quote(partition))
+                .then();
+    }
+
+    private static String quote(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+}
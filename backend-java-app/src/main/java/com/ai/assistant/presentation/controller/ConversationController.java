@@ -20,6 +20,7 @@ import reactor.core.publisher.Mono;
 
 import static com.ai.assistant.core.Constants.Path.Conversation.CONVERSATION_V1;
 import static com.ai.assistant.core.Constants.Path.Conversation.Method.AI;
+import static com.ai.assistant.core.Constants.Path.Conversation.Method.CURSOR;
 import static com.ai.assistant.core.Constants.Path.Conversation.Method.DIRECT;
 import static com.ai.assistant.core.Constants.Path.Conversation.Method.GROUP;
 import static com.ai.assistant.core.Constants.Path.Conversation.Method.NO_PROJECT;
@@ -86,21 +87,44 @@ public class ConversationController {
     public Mono<ResponseEntity<ApiResponse<java.util.List<ConversationResponseDTO>>>> getConversations(
             @CurrentUser Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeTotal
     ) {
         Mono<java.util.List<ConversationResponseDTO>> items = conversationService.fetchConversations(userId, page, size).collectList();
-        Mono<Long> count = conversationService.countConversations(userId);
+        Mono<Long> count = includeTotal ? conversationService.countConversations(userId) : Mono.just(-1L);
         return Mono.zip(items, count)
                 .map(t -> {
-                    int totalPages = (int) Math.ceil((double) t.getT2() / size);
                     java.util.Map<String, Object> meta = new java.util.HashMap<>();
                     meta.put("page", page);
                     meta.put("size", size);
-                    meta.put("totalPages", totalPages);
+                    if (includeTotal) {
+                        meta.put("totalPages", (int) Math.ceil((double) t.getT2() / size));
+                    }
                     return ResponseEntity.ok(ApiResponse.success(t.getT1(), meta));
                 });
     }
 
+    @GetMapping(path = CURSOR, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List conversations using keyset pagination")
+    public Mono<ResponseEntity<ApiResponse<java.util.List<ConversationResponseDTO>>>> getConversationsByCursor(
+            @CurrentUser Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        Mono<Long> count = includeTotal ? conversationService.countConversations(userId) : Mono.just(-1L);
+        return Mono.zip(conversationService.fetchConversationPage(userId, cursor, size), count)
+                .map(t -> {
+                    java.util.Map<String, Object> meta = new java.util.HashMap<>();
+                    meta.put("size", size);
+                    meta.put("nextCursor", t.getT1().nextCursor());
+                    if (includeTotal) {
+                        meta.put("total", t.getT2());
+                    }
+                    return ResponseEntity.ok(ApiResponse.success(t.getT1().items(), meta));
+                });
+    }
+
     @GetMapping(path = NO_PROJECT, produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "List conversations without project")
     public Mono<ResponseEntity<ApiResponse<java.util.List<ConversationResponseDTO>>>> getNoProjectConversations(
@@ -18,6 +18,7 @@ import java.util.Map;
 
 import static com.ai.assistant.core.Constants.Path.Conversation.CONVERSATION_V1;
 import static com.ai.assistant.core.Constants.Path.Conversation.Message.BASE;
+import static com.ai.assistant.core.Constants.Path.Conversation.Message.CURSOR;
 import static com.ai.assistant.core.Constants.Path.Conversation.Message.UNREAD;
 
 @RestController
@@ -32,24 +33,46 @@ public class MessageController {
     public Mono<ResponseEntity<ApiResponse<List<MessageEvent>>>> getMessages(
             @PathVariable Long conversationId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeTotal
     ) {
         Mono<List<MessageEvent>> messages = messageService.fetchMessages(conversationId, page, size)
                 .collectList();
-        Mono<Long> count = messageService.countMessages(conversationId);
+        Mono<Long> count = includeTotal ? messageService.countMessages(conversationId) : Mono.just(-1L);
         return Mono.zip(messages, count)
                 .map(t -> {
                     List<MessageEvent> data = t.getT1();
-                    long total = t.getT2();
-                    int totalPages = (int) Math.ceil((double) total / size);
                     Map<String, Object> meta = new HashMap<>();
                     meta.put("page", page);
                     meta.put("size", size);
-                    meta.put("totalPages", totalPages);
+                    if (includeTotal) {
+                        meta.put("totalPages", (int) Math.ceil((double) t.getT2() / size));
+                    }
                     return ResponseEntity.ok(ApiResponse.success(data, meta));
                 });
     }
 
+    @GetMapping(path = CURSOR, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get conversation messages using keyset pagination")
+    public Mono<ResponseEntity<ApiResponse<List<MessageEvent>>>> getMessagesByCursor(
+            @PathVariable Long conversationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        Mono<Long> count = includeTotal ? messageService.countMessages(conversationId) : Mono.just(-1L);
+        return Mono.zip(messageService.fetchMessagePage(conversationId, cursor, size), count)
+                .map(t -> {
+                    Map<String, Object> meta = new HashMap<>();
+                    meta.put("size", size);
+                    meta.put("nextCursor", t.getT1().nextCursor());
+                    if (includeTotal) {
+                        meta.put("total", t.getT2());
+                    }
+                    return ResponseEntity.ok(ApiResponse.success(t.getT1().items(), meta));
+                });
+    }
+
     @GetMapping(path = UNREAD, produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get unread messages for the current user")
     public Mono<ResponseEntity<ApiResponse<List<MessageEvent>>>> getUnreadMessages(
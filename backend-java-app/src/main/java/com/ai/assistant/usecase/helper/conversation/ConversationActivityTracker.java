@@ -0,0 +1,122 @@
+package com.ai.assistant.usecase.helper.conversation;
+
+import com.ai.assistant.persistence.relational.repository.ConversationActivity;
+import com.ai.assistant.persistence.relational.repository.ConversationRepository;
+import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
+
+/**
+ * Coalesces conversation activity in memory so a busy conversation's row is rewritten once per
+ * flush instead of once per message. Activity is stamped with server time when it is recorded, never
+ * with a client-supplied send date, and each conversation keeps only its newest activity; the flush
+ * writes the recorded time rather than the flush time, so {@code updated_at} ordering is the same as
+ * with per-message updates, only up to one flush interval later.
+ */
+@Slf4j
+@Component
+public class ConversationActivityTracker {
+
+    private final ConversationRepository conversationRepository;
+    private final ResilienceWrapper resilience;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration shutdownTimeout;
+    private final Map<Long, ConversationActivity> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushedRows;
+
+    public ConversationActivityTracker(ConversationRepository conversationRepository,
+                                       @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.chat.activity.coalesce:true}") boolean enabled,
+                                       @Value("${app.chat.activity.max-batch-size:1000}") int maxBatchSize,
+                                       @Value("${app.chat.activity.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.conversationRepository = conversationRepository;
+        this.resilience = resilience;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.shutdownTimeout = shutdownTimeout;
+
+        Gauge.builder("conversation.activity.pending", pending, Map::size)
+                .description("Conversations with activity not yet written to the database")
+                .register(meterRegistry);
+        this.flushedRows = Counter.builder("conversation.activity.flushed").register(meterRegistry);
+    }
+
+    /** Records activity now; written through immediately when coalescing is disabled. */
+    public Mono<Void> touch(Long conversationId, Long userId) {
+        if (!enabled) {
+            return resilience.wrap(conversationRepository.updateActivity(conversationId, userId));
+        }
+        record(new ConversationActivity(conversationId, userId, Instant.now()));
+        return Mono.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.activity.flush-interval:PT1S}")
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            if (pending.isEmpty()) {
+                return Mono.empty();
+            }
+
+            List<ConversationActivity> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+            for (ConversationActivity activity : pending.values()) {
+                // only take the entry if it has not been superseded meanwhile
+                if (pending.remove(activity.conversationId(), activity)) {
+                    batch.add(activity);
+                    if (batch.size() >= maxBatchSize) {
+                        break;
+                    }
+                }
+            }
+
+            // the next batch is only chained after a successful write; failures wait for the next tick
+            return resilience.wrap(conversationRepository.updateActivityBatch(batch))
+                    .doOnNext(rows -> {
+                        flushedRows.increment(rows);
+                        log.debug("[conversation:activity:flush] conversations={} rows={}", batch.size(), rows);
+                    })
+                    .then(Mono.defer(() -> pending.size() >= maxBatchSize ? flush() : Mono.<Void>empty()))
+                    .onErrorResume(e -> {
+                        log.error("[conversation:activity:flush:error] Requeueing {} conversations", batch.size(), e);
+                        batch.forEach(this::record);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flush().block(shutdownTimeout);
+        } catch (RuntimeException e) {
+            log.error("[conversation:activity:stop] Failed to flush, remaining={}", pending.size(), e);
+        }
+    }
+
+    private void record(ConversationActivity activity) {
+        pending.merge(activity.conversationId(), activity,
+                (current, candidate) -> candidate.at().isAfter(current.at()) ? candidate : current);
+    }
+}
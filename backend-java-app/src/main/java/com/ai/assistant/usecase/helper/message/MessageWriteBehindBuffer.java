@@ -0,0 +1,271 @@
+package com.ai.assistant.usecase.helper.message;
+
+import com.ai.assistant.enums.RecipientType;
+import com.ai.assistant.enums.WriteBehindDurability;
+import com.ai.assistant.usecase.helper.conversation.ConversationActivityTracker;
+import com.ai.assistant.persistence.relational.entity.Message;
+import com.ai.assistant.persistence.relational.repository.MessageRepository;
+import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.r2dbc.spi.R2dbcNonTransientException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
+
+/**
+ * Optional write-behind path for chat messages. Messages are queued on this node and flushed as one
+ * multi-row INSERT every flush interval or as soon as a full batch is waiting, with conversation
+ * activity touched once per conversation per flush. When the queue is full the message is written
+ * straight away instead, so producers are slowed down rather than messages dropped. A batch that
+ * fails in QUEUED mode is kept and retried ahead of the queue with exponential backoff; once it has
+ * used up its retry attempts it is written row by row, and rows rejected with a non-transient error
+ * are logged and dropped so one bad message cannot stall the queue.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehindBuffer {
+
+    private final MessageRepository messageRepository;
+    private final ConversationActivityTracker activityTracker;
+    private final ResilienceWrapper resilience;
+    private final MessageWriteBehindProperties properties;
+    private final BlockingQueue<Pending> queue;
+    private final Sinks.Many<Long> kicks = Sinks.many().multicast().directBestEffort();
+
+    private final Counter flushed;
+    private final Counter overflowed;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final DistributionSummary batchSize;
+    private final Timer flushTimer;
+
+    private Disposable flusher;
+
+    // only touched by the flusher, which runs one flush at a time
+    private List<Pending> retryBatch = List.of();
+    private int retryAttempts;
+    private long retryNotBefore;
+
+    public MessageWriteBehindBuffer(MessageRepository messageRepository,
+                                    ConversationActivityTracker activityTracker,
+                                    @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
+                                    MessageWriteBehindProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.messageRepository = messageRepository;
+        this.activityTracker = activityTracker;
+        this.resilience = resilience;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getCapacity());
+
+        Gauge.builder("message.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Messages waiting to be flushed")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("message.writebehind.flushed").register(meterRegistry);
+        this.overflowed = Counter.builder("message.writebehind.overflow")
+                .description("Messages written synchronously because the queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("message.writebehind.failed").register(meterRegistry);
+        this.deadLettered = Counter.builder("message.writebehind.deadletter")
+                .description("Messages dropped after the database rejected them on their own")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("message.writebehind.batch.size").register(meterRegistry);
+        this.flushTimer = Timer.builder("message.writebehind.flush").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flusher = Flux.merge(Flux.interval(properties.getFlushInterval()), kicks.asFlux())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush(false), 1)
+                .subscribe();
+        log.info("[message:write-behind:start] capacity={} maxBatchSize={} flushInterval={} durability={}",
+                properties.getCapacity(), properties.getMaxBatchSize(), properties.getFlushInterval(), properties.getDurability());
+    }
+
+    /** Drains whatever is still queued before the context closes. */
+    @PreDestroy
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.dispose();
+        try {
+            flush(true).block(properties.getShutdownTimeout());
+        } catch (RuntimeException e) {
+            log.error("[message:write-behind:stop] Failed to drain queue, remaining={}", queue.size(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public Mono<Void> save(Message message) {
+        // the AI reply is built from persisted history, so its prompt has to see this message
+        boolean awaitFlush = properties.getDurability() == WriteBehindDurability.FLUSHED
+                || message.getRecipient() == RecipientType.AI;
+        Pending pending = new Pending(message, awaitFlush ? Sinks.one() : null);
+
+        if (!queue.offer(pending)) {
+            overflowed.increment();
+            log.warn("[message:write-behind:overflow] Queue full, writing message directly");
+            return write(List.of(pending));
+        }
+        if (queue.size() >= properties.getMaxBatchSize()) {
+            kicks.tryEmitNext(0L);
+        }
+        return pending.done() != null ? pending.done().asMono() : Mono.empty();
+    }
+
+    private Mono<Void> flush(boolean ignoreBackoff) {
+        return Mono.defer(() -> {
+            if (!ignoreBackoff && !retryBatch.isEmpty() && System.nanoTime() - retryNotBefore < 0) {
+                return Mono.empty();
+            }
+
+            if (!retryBatch.isEmpty() && retryAttempts >= properties.getMaxRetryAttempts()) {
+                return isolate(retryBatch)
+                        .then(Mono.defer(() -> retryBatch.isEmpty() && !queue.isEmpty() ? flush(ignoreBackoff) : Mono.<Void>empty()));
+            }
+
+            List<Pending> batch;
+            if (!retryBatch.isEmpty()) {
+                batch = retryBatch;
+            } else {
+                batch = new ArrayList<>(properties.getMaxBatchSize());
+                queue.drainTo(batch, properties.getMaxBatchSize());
+                if (batch.isEmpty()) {
+                    return Mono.empty();
+                }
+            }
+
+            return write(batch)
+                    .then(Mono.fromRunnable(this::clearRetry))
+                    .then(Mono.defer(() -> queue.isEmpty() ? Mono.<Void>empty() : flush(ignoreBackoff)))
+                    .onErrorResume(e -> {
+                        scheduleRetry(batch);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    /**
+     * Writes an exhausted retry batch one row at a time. Rows the database rejects outright are
+     * dead-lettered; a transient failure keeps the rest for the next retry.
+     */
+    private Mono<Void> isolate(List<Pending> batch) {
+        AtomicInteger next = new AtomicInteger();
+        return Flux.fromIterable(batch)
+                .concatMap(pending -> write(List.of(pending))
+                        .onErrorResume(e -> {
+                            if (!isNonTransient(e)) {
+                                return Mono.error(e);
+                            }
+                            deadLettered.increment();
+                            log.error("[message:write-behind:dead-letter] Dropping message rejected by the database. messageId={}, conversationId={}",
+                                    pending.message().getMessageId(), pending.message().getConversationId(), e);
+                            return Mono.empty();
+                        })
+                        .then(Mono.fromRunnable(next::incrementAndGet)))
+                .then(Mono.<Void>fromRunnable(this::clearRetry))
+                .onErrorResume(e -> {
+                    scheduleRetry(batch.subList(next.get(), batch.size()));
+                    return Mono.empty();
+                });
+    }
+
+    private static boolean isNonTransient(Throwable e) {
+        return e instanceof NonTransientDataAccessException || e instanceof R2dbcNonTransientException;
+    }
+
+    /** Callers waiting on FLUSHED have already seen the error; only fire-and-forget messages are retried. */
+    private void scheduleRetry(List<Pending> batch) {
+        List<Pending> retained = batch.stream().filter(p -> p.done() == null).toList();
+        if (retained.isEmpty()) {
+            clearRetry();
+            return;
+        }
+        retryBatch = retained;
+        retryAttempts++;
+        long backoff = Math.min(
+                properties.getRetryBackoff().toNanos() << Math.min(retryAttempts - 1, 20),
+                properties.getMaxRetryBackoff().toNanos());
+        retryNotBefore = System.nanoTime() + backoff;
+        log.warn("[message:write-behind:retry] messages={} attempt={} backoffMs={}",
+                retained.size(), retryAttempts, TimeUnit.NANOSECONDS.toMillis(backoff));
+    }
+
+    private void clearRetry() {
+        retryBatch = List.of();
+        retryAttempts = 0;
+        retryNotBefore = 0;
+    }
+
+    private Mono<Void> write(List<Pending> batch) {
+        List<Message> messages = batch.stream().map(Pending::message).toList();
+
+        // last queued message per conversation; the tracker stamps it with server time
+        Map<Long, Message> activity = new LinkedHashMap<>();
+        for (Message message : messages) {
+            activity.put(message.getConversationId(), message);
+        }
+
+        long start = System.nanoTime();
+        return resilience.wrap(messageRepository.insertBatch(messages))
+                .thenMany(Flux.fromIterable(activity.values())
+                        .concatMap(m -> activityTracker.touch(m.getConversationId(), m.getSenderId())))
+                .then()
+                .doOnSuccess(v -> {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    batchSize.record(batch.size());
+                    flushed.increment(batch.size());
+                    batch.forEach(Pending::succeed);
+                    log.debug("[message:write-behind:flush] messages={} conversations={}", batch.size(), activity.size());
+                })
+                .doOnError(e -> {
+                    failed.increment(batch.size());
+                    batch.forEach(p -> p.fail(e));
+                    log.error("[message:write-behind:flush:error] Failed to persist {} messages, messageIds={}",
+                            batch.size(), messages.stream().map(Message::getMessageId).toList(), e);
+                });
+    }
+
+    private record Pending(Message message, Sinks.One<Void> done) {
+        void succeed() {
+            if (done != null) {
+                done.tryEmitEmpty();
+            }
+        }
+
+        void fail(Throwable error) {
+            if (done != null) {
+                done.tryEmitError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.ai.assistant.usecase.helper.message;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MessageWriteBehindProperties.class)
+public class MessageWriteBehindConfig {
+}
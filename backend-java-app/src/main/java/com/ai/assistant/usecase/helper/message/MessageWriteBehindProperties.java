@@ -0,0 +1,24 @@
+package com.ai.assistant.usecase.helper.message;
+
+import com.ai.assistant.enums.WriteBehindDurability;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.chat.write-behind")
+public class MessageWriteBehindProperties {
+    private boolean enabled = false;
+    private int capacity = 10_000;
+    private int maxBatchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(50);
+    private WriteBehindDurability durability = WriteBehindDurability.QUEUED;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+    private Duration retryBackoff = Duration.ofMillis(500);
+    private Duration maxRetryBackoff = Duration.ofSeconds(30);
+    /** Failed attempts before a queued batch is written row by row and rejected rows are dropped. */
+    private int maxRetryAttempts = 10;
+}
@@ -13,7 +13,6 @@ import static com.ai.assistant.core.Constants.Resilience.AI_SERVICE_NAME;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.AI_SERVICE_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.DB_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.REDIS_CIRCUIT_BREAKER;
-import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.WS_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.WEB_CLIENT_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.DB_NAME;
 import static com.ai.assistant.core.Constants.Resilience.KAFKA_NAME;
@@ -22,10 +21,8 @@ import static com.ai.assistant.core.Constants.Resilience.Retry.DB_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.KAFKA_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.REDIS_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.WEB_CLIENT_RETRY;
-import static com.ai.assistant.core.Constants.Resilience.Retry.WS_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.TimeLimiter.*;
 import static com.ai.assistant.core.Constants.Resilience.WEB_CLIENT_NAME;
-import static com.ai.assistant.core.Constants.Resilience.WS_NAME;
 
 @Configuration
 public class ResilienceConfig {
@@ -94,20 +91,4 @@ public class ResilienceConfig {
     public TimeLimiter dbTimeLimiter(TimeLimiterRegistry timeLimiterRegistry) {
         return timeLimiterRegistry.timeLimiter(DB_NAME);
     }
-
-    // ###### WS ######
-    @Bean(WS_RETRY)
-    public Retry wsRetry(RetryRegistry retryRegistry) {
-        return retryRegistry.retry(WS_NAME);
-    }
-
-    @Bean(WS_CIRCUIT_BREAKER)
-    public CircuitBreaker wsCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
-        return circuitBreakerRegistry.circuitBreaker(WS_NAME);
-    }
-
-    @Bean(WS_TIME_LIMITER)
-    public TimeLimiter wsTimeLimiter(TimeLimiterRegistry timeLimiterRegistry) {
-        return timeLimiterRegistry.timeLimiter(WS_NAME);
-    }
 }
@@ -16,19 +16,16 @@ import org.springframework.context.annotation.Configuration;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.AI_SERVICE_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.DB_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.REDIS_CIRCUIT_BREAKER;
-import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.WS_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.CircuitBreaker.WEB_CLIENT_CIRCUIT_BREAKER;
 import static com.ai.assistant.core.Constants.Resilience.Retry.DB_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.KAFKA_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.REDIS_RETRY;
-import static com.ai.assistant.core.Constants.Resilience.Retry.WS_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.Retry.WEB_CLIENT_RETRY;
 import static com.ai.assistant.core.Constants.Resilience.TimeLimiter.*;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.AI_SERVICE_RESILIENCE_WRAPPER;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.KAFKA_RESILIENCE_WRAPPER;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.REDIS_RESILIENCE_WRAPPER;
-import static com.ai.assistant.core.Constants.Resilience.Wrapper.WS_RESILIENCE_WRAPPER;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.WEB_CLIENT_RESILIENCE_WRAPPER;
 
 @Configuration
@@ -59,13 +56,6 @@ public class ResilienceWrapperConfig {
         return new DbResilienceWrapper(retry, circuitBreaker, timeLimiter);
     }
 
-    @Bean(WS_RESILIENCE_WRAPPER)
-    public ResilienceWrapper wsResilienceWrapper(@Qualifier(WS_RETRY) Retry retry,
-                                                 @Qualifier(WS_CIRCUIT_BREAKER) CircuitBreaker circuitBreaker,
-                                                 @Qualifier(WS_TIME_LIMITER) TimeLimiter timeLimiter) {
-        return new DbResilienceWrapper(retry, circuitBreaker, timeLimiter);
-    }
-
     @Bean(WEB_CLIENT_RESILIENCE_WRAPPER)
     public ResilienceWrapper webClientResilienceWrapper(@Qualifier(WEB_CLIENT_RETRY) Retry retry,
                                                         @Qualifier(WEB_CLIENT_CIRCUIT_BREAKER) CircuitBreaker circuitBreaker,
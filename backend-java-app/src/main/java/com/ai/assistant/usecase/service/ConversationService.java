@@ -1,10 +1,13 @@
 package com.ai.assistant.usecase.service;
 
+import com.ai.assistant.core.dto.CursorPage;
 import com.ai.assistant.core.error.ApplicationException;
 import com.ai.assistant.core.error.ErrorCode;
 import com.ai.assistant.dto.response.conversation.ConversationResponseDTO;
 import com.ai.assistant.event.ConversationCleanupEvent;
 import com.ai.assistant.core.dbconnection.ReadOnly;
+import com.ai.assistant.core.pagination.KeysetCursor;
+import com.ai.assistant.core.pagination.PageSize;
 import com.ai.assistant.mapper.ConversationMapper;
 import com.ai.assistant.persistence.relational.entity.Conversation;
 import com.ai.assistant.persistence.relational.repository.ConversationRepository;
@@ -98,6 +101,30 @@ public class ConversationService {
         ).map(conversationMapper::toResponseDTO);
     }
 
+    @ReadOnly
+    public Mono<CursorPage<ConversationResponseDTO>> fetchConversationPage(Long userId, String cursor, int size) {
+        return Mono.defer(() -> {
+            int limit = PageSize.checked(size);
+            KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            return resilience.wrap(conversationRepository.findByUserIdBefore(
+                            userId,
+                            position != null ? position.timestamp() : null,
+                            position != null ? position.id() : null,
+                            limit + 1))
+                    .collectList()
+                    .map(rows -> {
+                        boolean hasMore = rows.size() > limit;
+                        List<Conversation> page = hasMore ? rows.subList(0, limit) : rows;
+                        String nextCursor = null;
+                        if (hasMore) {
+                            Conversation last = page.getLast();
+                            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+                        }
+                        return new CursorPage<>(page.stream().map(conversationMapper::toResponseDTO).toList(), nextCursor);
+                    });
+        });
+    }
+
     @ReadOnly
     public Flux<ConversationResponseDTO> fetchNoProjectConversations(Long userId, int page, int size) {
         long offset = (long) page * size;
@@ -1,11 +1,15 @@
 package com.ai.assistant.usecase.service;
 
+import com.ai.assistant.core.dto.CursorPage;
+import com.ai.assistant.core.pagination.KeysetCursor;
+import com.ai.assistant.core.pagination.PageSize;
 import com.ai.assistant.event.MessageEvent;
 import com.ai.assistant.mapper.MessageMapper;
 import com.ai.assistant.persistence.relational.entity.Message;
 import com.ai.assistant.persistence.relational.repository.MessageRepository;
-import com.ai.assistant.persistence.relational.repository.ConversationRepository;
 import com.ai.assistant.usecase.service.ParticipantService;
+import com.ai.assistant.usecase.helper.conversation.ConversationActivityTracker;
+import com.ai.assistant.usecase.helper.message.MessageWriteBehindBuffer;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -13,6 +17,10 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
 
 @Slf4j
@@ -20,30 +28,39 @@ import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_W
 public class MessageService {
 
     private final MessageRepository repository;
-    private final ConversationRepository conversationRepository;
+    private final ConversationActivityTracker activityTracker;
     private final ResilienceWrapper resilience;
     private final MessageMapper messageMapper;
     private final ParticipantService participantService;
+    private final MessageWriteBehindBuffer writeBehind;
 
     public MessageService(MessageRepository repository,
-                          ConversationRepository conversationRepository,
+                          ConversationActivityTracker activityTracker,
                           @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
                           MessageMapper messageMapper,
-                          ParticipantService participantService) {
+                          ParticipantService participantService,
+                          MessageWriteBehindBuffer writeBehind) {
         this.repository = repository;
-        this.conversationRepository = conversationRepository;
+        this.activityTracker = activityTracker;
         this.resilience = resilience;
         this.messageMapper = messageMapper;
         this.participantService = participantService;
+        this.writeBehind = writeBehind;
     }
 
     public Mono<Void> saveMessage(MessageEvent messageEvent) {
         Message message = messageMapper.toEntity(messageEvent);
 
+        if (writeBehind.isEnabled()) {
+            log.debug("[message:save] Queueing message for write-behind");
+            return writeBehind.save(message)
+                    .doOnError(e -> log.error("[message:save] Failed to save message to DB", e));
+        }
+
         log.info("[message:save] Saving message to DB");
 
         return resilience.wrap(repository.save(message))
-                .then(conversationRepository.updateActivity(messageEvent.conversationId(), messageEvent.senderId()))
+                .then(Mono.defer(() -> activityTracker.touch(messageEvent.conversationId(), messageEvent.senderId())))
                 .then()
                 .doOnSuccess(v -> log.info("[message:save] Message saved"))
                 .doOnError(e -> log.error("[message:save] Failed to save message to DB", e));
@@ -57,6 +74,27 @@ public class MessageService {
         ).map(messageMapper::toDto);
     }
 
+    public Mono<CursorPage<MessageEvent>> fetchMessagePage(Long conversationId, String cursor, int size) {
+        return Mono.defer(() -> {
+            int limit = PageSize.checked(size);
+            KeysetCursor position = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            LocalDateTime sendDate = position != null ? LocalDateTime.ofInstant(position.timestamp(), ZoneOffset.UTC) : null;
+            Long id = position != null ? position.id() : null;
+            return resilience.wrap(repository.findByConversationIdBefore(conversationId, sendDate, id, limit + 1))
+                    .collectList()
+                    .map(rows -> {
+                        boolean hasMore = rows.size() > limit;
+                        List<Message> page = hasMore ? rows.subList(0, limit) : rows;
+                        String nextCursor = null;
+                        if (hasMore) {
+                            Message last = page.getLast();
+                            nextCursor = new KeysetCursor(last.getSendDate().toInstant(ZoneOffset.UTC), last.getId()).encode();
+                        }
+                        return new CursorPage<>(page.stream().map(messageMapper::toDto).toList(), nextCursor);
+                    });
+        });
+    }
+
     public Mono<Long> countMessages(Long conversationId) {
         return resilience.wrap(repository.countByConversationId(conversationId));
     }
@@ -1,6 +1,6 @@
 package com.ai.assistant.usecase.service;
 
-import com.ai.assistant.core.dbconnection.ReadOnly;
+import com.ai.assistant.enums.OutboxArchiveMode;
 import com.ai.assistant.event.DomainEvent;
 import com.ai.assistant.persistence.relational.entity.OutboxEvent;
 import com.ai.assistant.enums.OutboxStatus;
@@ -15,14 +15,18 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
-import static com.ai.assistant.core.Constants.Outbox.OUTBOX_BATCH_SIZE;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
 
 @Slf4j
@@ -32,13 +36,16 @@ public class OutboxService {
     private final OutboxEventRepository repository;
     private final OutboxEventFactory eventFactory;
     private final ResilienceWrapper resilience;
+    private final TransactionalOperator tx;
 
     public OutboxService(OutboxEventRepository repository,
                          OutboxEventFactory eventFactory,
-                         @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience) {
+                         @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
+                         TransactionalOperator tx) {
         this.repository = repository;
         this.eventFactory = eventFactory;
         this.resilience = resilience;
+        this.tx = tx;
     }
 
     public Mono<Void> dispatchEvent(DomainEvent event) {
@@ -50,9 +57,9 @@ public class OutboxService {
                 .then();
     }
 
-    @ReadOnly
-    public Flux<List<OutboxEvent>> findPendingEvents() {
-        return resilience.wrap(repository.findPendingEvents().buffer(OUTBOX_BATCH_SIZE));
+    /** Claims a batch on the primary; never route this to a replica. */
+    public Mono<List<OutboxEvent>> claimPendingEvents(String owner, Duration lease, int limit) {
+        return resilience.wrap(repository.claimPending(owner, lease, limit).collectList());
     }
 
     public Mono<Void> markEventsAsPublished(List<OutboxEvent> outboxEvents) {
@@ -61,10 +68,72 @@ public class OutboxService {
         }
 
         List<UUID> ids = outboxEvents.stream().map(OutboxEvent::getId).toList();
+        // lower bound lets Postgres prune partitions older than the batch
+        Instant createdSince = outboxEvents.stream()
+                .map(OutboxEvent::getCreatedAt)
+                .min(Comparator.naturalOrder())
+                .orElse(Instant.EPOCH);
 
-        return resilience.wrap(repository.markAsPublished(ids))
+        return resilience.wrap(repository.markAsPublished(ids, createdSince))
                 .doOnSuccess(updatedCount -> log.info("[outbox:markPublished] Marked {} events as PUBLISHED", updatedCount))
                 .doOnError(e -> log.error("[outbox:markPublished] Failed to mark events as PUBLISHED. ids={}", ids, e))
                 .then();
     }
+
+    /**
+     * Pre-creates daily partitions (plus any day already sitting in the default partition) and
+     * archives those that ended before the retention window. Every create and archive runs in its
+     * own transaction under a transaction-scoped advisory lock, so only one node does the DDL at a
+     * time and one failing day cannot hold back the rest; a partition still holding unpublished
+     * rows is left in place.
+     */
+    public Mono<Void> maintainPartitions(int premakeDays, Duration retention, OutboxArchiveMode mode) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        Instant cutoff = Instant.now().minus(retention);
+
+        Flux<LocalDate> days = Flux.concat(
+                        repository.findDaysInDefaultPartition(),
+                        Flux.range(0, premakeDays + 1).map(today::plusDays))
+                .distinct();
+
+        return resilience.wrap(days.collectList())
+                .flatMapMany(Flux::fromIterable)
+                .concatMap(day -> underMaintenanceLock(repository.createDailyPartition(day), "create", day))
+                .thenMany(resilience.wrap(repository.findPartitionsEndingBefore(cutoff).collectList())
+                        .flatMapMany(Flux::fromIterable))
+                .concatMap(partition -> underMaintenanceLock(archivePartition(partition, mode), "archive", partition))
+                .then();
+    }
+
+    private Mono<Void> underMaintenanceLock(Mono<Void> step, String action, Object target) {
+        Mono<Void> locked = repository.tryPartitionMaintenanceLock()
+                .flatMap(acquired -> {
+                    if (!acquired) {
+                        log.debug("[outbox:partition:{}] Maintenance running on another node. target={}", action, target);
+                        return Mono.empty();
+                    }
+                    return step;
+                })
+                .as(tx::transactional);
+        return resilience.wrap(locked)
+                .onErrorResume(e -> {
+                    log.error("[outbox:partition:{}] Step failed, continuing. target={}", action, target, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> archivePartition(String partition, OutboxArchiveMode mode) {
+        return repository.hasUnpublished(partition)
+                .flatMap(pending -> {
+                    if (pending) {
+                        log.warn("[outbox:partition:archive] Skipping partition with unpublished events. partition={}", partition);
+                        return Mono.empty();
+                    }
+                    Mono<Void> archive = repository.detachPartition(partition);
+                    if (mode == OutboxArchiveMode.DROP) {
+                        archive = archive.then(repository.dropPartition(partition));
+                    }
+                    return archive.doOnSuccess(v -> log.info("[outbox:partition:archive] mode={} partition={}", mode, partition));
+                });
+    }
 }
@@ -7,6 +7,7 @@ import com.ai.assistant.persistence.relational.repository.ConversationRepository
 import com.ai.assistant.persistence.relational.repository.ProjectParticipantRepository;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
 import com.ai.assistant.external.redis.service.RedisOnlineUserService;
+import com.ai.assistant.external.redis.cache.ParticipantMembershipCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -18,6 +19,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.ai.assistant.core.Constants.DBReplication.ROUTE_KEY;
+import static com.ai.assistant.core.Constants.DBReplication.ROUTE_PRIMARY;
 import static com.ai.assistant.core.Constants.Resilience.Wrapper.DB_RESILIENCE_WRAPPER;
 
 @Slf4j
@@ -29,17 +32,20 @@ public class ParticipantService {
     private final RedisOnlineUserService onlineService;
     private final ConversationRepository conversationRepository;
     private final ProjectParticipantRepository projectParticipantRepository;
+    private final ParticipantMembershipCache membershipCache;
 
     public ParticipantService(ParticipantRepository repository,
                               @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
                               RedisOnlineUserService onlineService,
                               ConversationRepository conversationRepository,
-                              ProjectParticipantRepository projectParticipantRepository) {
+                              ProjectParticipantRepository projectParticipantRepository,
+                              ParticipantMembershipCache membershipCache) {
         this.repository = repository;
         this.resilience = resilience;
         this.onlineService = onlineService;
         this.conversationRepository = conversationRepository;
         this.projectParticipantRepository = projectParticipantRepository;
+        this.membershipCache = membershipCache;
     }
 
     public Mono<Void> saveParticipants(Long conversationId,
@@ -55,8 +61,11 @@ public class ParticipantService {
     @ReadOnly
     public Flux<UserSummaryDTO> fetchParticipants(Long conversationId) {
         return resilience.wrap(repository.findUsersByConversationId(conversationId))
-                .flatMap(dto -> onlineService.isOnline(dto.id())
-                        .map(online -> new UserSummaryDTO(dto.id(), dto.username(), online)))
+                .collectList()
+                .flatMapMany(users -> onlineService.areOnline(users.stream().map(UserSummaryDTO::id).toList())
+                        .flatMapIterable(online -> users.stream()
+                                .map(dto -> new UserSummaryDTO(dto.id(), dto.username(), online.getOrDefault(dto.id(), false)))
+                                .toList()))
                 .doOnSubscribe(s -> log.debug("[participant:list] Fetching participants for conversation {}", conversationId))
                 .doOnError(e -> log.error("[participant:list] Failed to fetch participants for conversation {}", conversationId, e));
     }
@@ -71,11 +80,13 @@ public class ParticipantService {
                             .build();
                     return repository.save(p).then();
                 })
+                .then(membershipCache.evict(conversationId, userId))
                 .doOnError(e -> log.error("[participant:add] Failed to add participant conversationId={} userId={}", conversationId, userId, e));
     }
 
     public Mono<Void> removeParticipant(Long conversationId, Long userId) {
         return resilience.wrap(repository.deleteByConversationIdAndUserId(conversationId, userId))
+                .then(membershipCache.evict(conversationId, userId))
                 .doOnError(e -> log.error("[participant:remove] Failed to remove participant conversationId={} userId={}", conversationId, userId, e));
     }
 
@@ -89,8 +100,15 @@ public class ParticipantService {
         return resilience.wrap(repository.findLastReadAt(conversationId, userId));
     }
 
-    @ReadOnly
+    /**
+     * Served from the membership cache. Misses load from primary on purpose: a lagging replica right
+     * after an add/remove would otherwise refill the cache with the pre-write answer.
+     */
     public Mono<Boolean> isParticipant(Long conversationId, Long userId) {
+        return membershipCache.isMember(conversationId, userId, () -> loadMembership(conversationId, userId));
+    }
+
+    private Mono<Boolean> loadMembership(Long conversationId, Long userId) {
         return resilience.wrap(repository.existsByConversationIdAndUserId(conversationId, userId))
                 .flatMap(exists -> {
                     if (Boolean.TRUE.equals(exists)) {
@@ -105,7 +123,9 @@ public class ParticipantService {
                                 }
                                 return projectParticipantRepository.existsByProjectIdAndUserId(projectId, userId);
                             });
-                });
+                })
+                // pinned to primary even when called from a @ReadOnly flow
+                .contextWrite(ctx -> ctx.put(ROUTE_KEY, ROUTE_PRIMARY));
     }
 
     @ReadOnly
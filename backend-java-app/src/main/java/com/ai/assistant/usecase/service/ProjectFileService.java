@@ -1,10 +1,14 @@
 package com.ai.assistant.usecase.service;
 
+import com.ai.assistant.external.minio.cache.ProjectFileContentCache;
+import com.ai.assistant.external.minio.config.MinioProperties;
+import io.minio.GetObjectArgs;
 import io.minio.MinioClient;
 import io.minio.PutObjectArgs;
 import io.minio.ListObjectsArgs;
 import io.minio.Result;
 import io.minio.RemoveObjectArgs;
+import io.minio.StatObjectArgs;
 import io.minio.messages.Item;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +25,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 import java.nio.charset.StandardCharsets;
 
@@ -32,6 +38,8 @@ public class ProjectFileService {
 
     private final MinioClient minioClient;
     private final String projectBucket;
+    private final ProjectFileContentCache contentCache;
+    private final MinioProperties minioProperties;
 
     private static final Set<String> IGNORED_DIRS = Set.of(
             "node_modules",
@@ -127,6 +135,7 @@ public class ProjectFileService {
 
     public Mono<Void> deleteAllFiles(Long id) {
         return Mono.fromRunnable(() -> {
+            contentCache.invalidateProject(id);
             try {
                 Iterable<Result<Item>> results = minioClient.listObjects(
                         ListObjectsArgs.builder()
@@ -172,7 +181,8 @@ public class ProjectFileService {
                     }
                     return (Void) null;
                 }).subscribeOn(Schedulers.boundedElastic()), 4)
-                .then());
+                .then())
+                .doFinally(sig -> contentCache.invalidateProject(id));
     }
 
     public Mono<Void> cleanupTempDir(Path dir) {
@@ -216,46 +226,106 @@ public class ProjectFileService {
     }
 
     public Mono<List<String>> readFiles(Long id) {
-        return Mono.fromCallable(() -> {
-                    Iterable<Result<Item>> results = minioClient.listObjects(
-                            ListObjectsArgs.builder()
-                                    .bucket(projectBucket)
-                                    .prefix("projects/" + id + "/")
-                                    .recursive(true)
-                                    .build());
-                    List<String> contents = new ArrayList<>();
-                    for (Result<Item> r : results) {
-                        Item item = r.get();
-                        String objectName = item.objectName();
-                        if (objectName.endsWith("/")) continue;
-                        String relPath = objectName.substring(("projects/" + id + "/").length());
-                        if (Arrays.stream(relPath.split("/"))
-                                .anyMatch(IGNORED_DIRS::contains)) continue;
-                        try (InputStream is = minioClient.getObject(
-                                io.minio.GetObjectArgs.builder()
-                                        .bucket(projectBucket)
-                                        .object(objectName)
-                                        .build())) {
-                            contents.add(new String(is.readAllBytes(), StandardCharsets.UTF_8));
-                        }
-                    }
-                    return contents;
+        return streamFiles(id)
+                .map(FileContent::content)
+                .collectList();
+    }
+
+    /** Streams all of the project's files in listing order, fetched concurrently with a per-object timeout. */
+    public Flux<FileContent> streamFiles(Long id) {
+        return streamFiles(id, Long.MAX_VALUE);
+    }
+
+    /**
+     * Streams the project's files for a prompt: like {@link #streamFiles(Long)}, but listing stops
+     * once the configured byte budget is used up.
+     */
+    public Flux<FileContent> streamPromptFiles(Long id) {
+        return streamFiles(id, minioProperties.getFetch().getMaxTotalBytes());
+    }
+
+    private Flux<FileContent> streamFiles(Long id, long maxTotalBytes) {
+        MinioProperties.Fetch fetch = minioProperties.getFetch();
+        String prefix = "projects/" + id + "/";
+
+        return Flux.defer(() -> {
+                    long[] budget = {maxTotalBytes};
+                    return Flux.fromIterable(minioClient.listObjects(
+                                    ListObjectsArgs.builder()
+                                            .bucket(projectBucket)
+                                            .prefix(prefix)
+                                            .recursive(true)
+                                            .build()))
+                            .<Item>handle((result, sink) -> {
+                                try {
+                                    sink.next(result.get());
+                                } catch (Exception e) {
+                                    sink.error(e);
+                                }
+                            })
+                            .filter(item -> !item.objectName().endsWith("/"))
+                            .filter(item -> Arrays.stream(item.objectName().substring(prefix.length()).split("/"))
+                                    .noneMatch(IGNORED_DIRS::contains))
+                            .<Item>handle((item, sink) -> {
+                                budget[0] -= item.size();
+                                if (budget[0] < 0) {
+                                    log.debug("[project:file:budget] projectId={} byte budget reached", id);
+                                    sink.complete();
+                                } else {
+                                    sink.next(item);
+                                }
+                            });
                 })
-                .subscribeOn(Schedulers.boundedElastic());
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapSequential(item -> fetchFile(id, item.objectName().substring(prefix.length()), item::etag),
+                        fetch.getConcurrency());
     }
 
     public Mono<List<String>> readFiles(Long id, List<String> paths) {
+        return streamFiles(id, paths)
+                .map(FileContent::content)
+                .collectList();
+    }
+
+    /** Streams the given files in request order, with the same fetch limits as {@link #streamFiles(Long)}. */
+    public Flux<FileContent> streamFiles(Long id, List<String> paths) {
         return Flux.fromIterable(paths)
                 .filter(p -> isAllowed(Path.of(p)))
-                .flatMap(path -> Mono.fromCallable(() -> {
-                    try (InputStream is = minioClient.getObject(
-                            io.minio.GetObjectArgs.builder()
-                                    .bucket(projectBucket)
-                                    .object("projects/" + id + "/" + path)
-                                    .build())) {
-                        return new String(is.readAllBytes(), StandardCharsets.UTF_8);
-                    }
-                }).subscribeOn(Schedulers.boundedElastic()))
-                .collectList();
+                .flatMapSequential(path -> fetchFile(id, path, () -> minioClient.statObject(StatObjectArgs.builder()
+                                        .bucket(projectBucket)
+                                        .object("projects/" + id + "/" + path)
+                                        .build())
+                                .etag()),
+                        minioProperties.getFetch().getConcurrency());
+    }
+
+    /** Fetches one object on the bounded-elastic pool; a slow or failing object is skipped, not fatal. */
+    private Mono<FileContent> fetchFile(Long id, String relPath, Callable<String> etag) {
+        return Mono.fromCallable(() -> new FileContent(relPath, readObject(id, relPath, etag.call())))
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(minioProperties.getFetch().getObjectTimeout())
+                .onErrorResume(e -> {
+                    log.warn("[project:file:fetch] Skipping {} for project {}: {}", relPath, id, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private String readObject(Long id, String relPath, String etag) throws Exception {
+        Optional<String> cached = contentCache.get(id, relPath, etag);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        try (InputStream is = minioClient.getObject(
+                GetObjectArgs.builder()
+                        .bucket(projectBucket)
+                        .object("projects/" + id + "/" + relPath)
+                        .build())) {
+            String content = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+            contentCache.put(id, relPath, etag, content);
+            return content;
+        }
+    }
+
+    public record FileContent(String path, String content) {
     }
 }
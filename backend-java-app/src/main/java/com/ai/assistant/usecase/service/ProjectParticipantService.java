@@ -1,6 +1,7 @@
 package com.ai.assistant.usecase.service;
 
 import com.ai.assistant.core.dbconnection.ReadOnly;
+import com.ai.assistant.external.redis.cache.ParticipantMembershipCache;
 import com.ai.assistant.persistence.relational.entity.ProjectParticipant;
 import com.ai.assistant.persistence.relational.repository.ProjectParticipantRepository;
 import com.ai.assistant.usecase.resilience.wrapper.ResilienceWrapper;
@@ -18,11 +19,14 @@ public class ProjectParticipantService {
 
     private final ProjectParticipantRepository repository;
     private final ResilienceWrapper resilience;
+    private final ParticipantMembershipCache membershipCache;
 
     public ProjectParticipantService(ProjectParticipantRepository repository,
-                                     @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience) {
+                                     @Qualifier(DB_RESILIENCE_WRAPPER) ResilienceWrapper resilience,
+                                     ParticipantMembershipCache membershipCache) {
         this.repository = repository;
         this.resilience = resilience;
+        this.membershipCache = membershipCache;
     }
 
     public Mono<Void> addParticipant(Long projectId, Long userId) {
@@ -35,11 +39,14 @@ public class ProjectParticipantService {
                             .build();
                     return repository.save(p).then();
                 })
+                // project membership grants access to every conversation of the project
+                .then(membershipCache.evictUser(userId))
                 .doOnError(e -> log.error("[projectParticipant:add] Failed to add participant projectId={} userId={}", projectId, userId, e));
     }
 
     public Mono<Void> removeParticipant(Long projectId, Long userId) {
         return resilience.wrap(repository.deleteByProjectIdAndUserId(projectId, userId))
+                .then(membershipCache.evictUser(userId))
                 .doOnError(e -> log.error("[projectParticipant:remove] Failed to remove participant projectId={} userId={}", projectId, userId, e));
     }
 
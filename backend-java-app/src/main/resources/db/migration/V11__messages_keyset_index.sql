@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS idx_messages_conv_keyset
+    ON messages (conversation_id, send_date DESC, id DESC)
+    WHERE deleted_at IS NULL;
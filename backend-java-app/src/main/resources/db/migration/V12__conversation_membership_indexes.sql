@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS idx_conversation_participants_user_active
+    ON conversation_participants (user_id, conversation_id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_project_participants_user_active
+    ON project_participants (user_id, project_id)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_conversations_updated_keyset
+    ON conversations (updated_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
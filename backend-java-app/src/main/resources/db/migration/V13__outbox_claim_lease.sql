@@ -0,0 +1,7 @@
+ALTER TABLE outbox_event
+    ADD COLUMN IF NOT EXISTS claimed_by    VARCHAR(100),
+    ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending
+    ON outbox_event (created_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,58 @@
+ALTER TABLE outbox_event RENAME TO outbox_event_legacy;
+DROP TRIGGER IF EXISTS trg_outbox_event_notify ON outbox_event_legacy;
+DROP INDEX IF EXISTS idx_outbox_event_pending;
+
+CREATE TABLE outbox_event
+(
+    id             UUID         NOT NULL DEFAULT gen_random_uuid(),
+    aggregate_id   UUID         NOT NULL,
+    aggregate_type VARCHAR(100) NOT NULL,
+    event_type     VARCHAR(100) NOT NULL,
+    status         VARCHAR(100) NOT NULL,
+    payload        TEXT         NOT NULL,
+    published_at   TIMESTAMPTZ,
+    created_at     TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    claimed_by     VARCHAR(100),
+    claimed_until  TIMESTAMPTZ,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_outbox_event_pending
+    ON outbox_event (created_at)
+    WHERE status = 'PENDING';
+
+-- only receives rows when the application fell behind on creating daily partitions
+CREATE TABLE outbox_event_default PARTITION OF outbox_event DEFAULT;
+
+-- existing rows go to one catch-all partition; daily partitions start today (UTC)
+DO
+$$
+    DECLARE
+        today DATE := (NOW() AT TIME ZONE 'UTC')::DATE;
+    BEGIN
+        EXECUTE format('CREATE TABLE outbox_event_p_legacy PARTITION OF outbox_event FOR VALUES FROM (MINVALUE) TO (%L)',
+                       today::TIMESTAMP AT TIME ZONE 'UTC');
+        FOR d IN 0..3
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF outbox_event FOR VALUES FROM (%L) TO (%L)',
+                               'outbox_event_p' || to_char(today + d, 'YYYYMMDD'),
+                               (today + d)::TIMESTAMP AT TIME ZONE 'UTC',
+                               (today + d + 1)::TIMESTAMP AT TIME ZONE 'UTC');
+            END LOOP;
+    END
+$$;
+
+INSERT INTO outbox_event (id, aggregate_id, aggregate_type, event_type, status, payload,
+                          published_at, created_at, claimed_by, claimed_until)
+SELECT id, aggregate_id, aggregate_type, event_type, status, payload,
+       published_at, created_at, claimed_by, claimed_until
+FROM outbox_event_legacy;
+
+DROP TABLE outbox_event_legacy;
+
+CREATE TRIGGER trg_outbox_event_notify
+    AFTER INSERT ON outbox_event
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_outbox_event();
+
+GRANT REFERENCES, SELECT ON TABLE public.outbox_event TO repl;
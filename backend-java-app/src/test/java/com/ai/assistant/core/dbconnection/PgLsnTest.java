@@ -0,0 +1,33 @@
+package com.ai.assistant.core.dbconnection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PgLsnTest {
+
+    @Test
+    void parsesHighAndLowHalves() {
+        assertThat(PgLsn.parse("16/B374D848")).isEqualTo((0x16L << 32) | 0xB374D848L);
+        assertThat(PgLsn.parse("0/0")).isZero();
+    }
+
+    @Test
+    void ordersAcrossTheSegmentBoundary() {
+        assertThat(PgLsn.parse("1/0")).isGreaterThan(PgLsn.parse("0/FFFFFFFF"));
+        assertThat(PgLsn.parse("0/A")).isGreaterThan(PgLsn.parse("0/9"));
+    }
+
+    @Test
+    void treatsMissingAsZero() {
+        assertThat(PgLsn.parse(null)).isZero();
+        assertThat(PgLsn.parse(" ")).isZero();
+    }
+
+    @Test
+    void rejectsMalformed() {
+        assertThatThrownBy(() -> PgLsn.parse("16B374D848")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PgLsn.parse("16/XYZ")).isInstanceOf(NumberFormatException.class);
+    }
+}
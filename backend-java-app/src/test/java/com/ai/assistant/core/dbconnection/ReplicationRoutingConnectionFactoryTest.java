@@ -0,0 +1,126 @@
+package com.ai.assistant.core.dbconnection;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.ai.assistant.core.Constants.DBReplication.CONSISTENCY_SESSION_KEY;
+import static com.ai.assistant.core.Constants.DBReplication.ROUTE_KEY;
+import static com.ai.assistant.core.Constants.DBReplication.ROUTE_REPLICA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class ReplicationRoutingConnectionFactoryTest {
+
+    private ConnectionFactory primaryFactory;
+    private Connection primary;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(Connection.class);
+        primaryFactory = factory(Mono.just(primary));
+    }
+
+    private static ConnectionFactory factory(Mono<Connection> connection) {
+        ConnectionFactory factory = mock(ConnectionFactory.class);
+        doReturn(connection).when(factory).create();
+        return factory;
+    }
+
+    private static ReplicaTarget replica(String name, Connection connection, long replayedLsn) {
+        ReplicaTarget target = new ReplicaTarget(name, factory(Mono.just(connection)));
+        target.markProbed(0d, replayedLsn, true);
+        return target;
+    }
+
+    private static Mono<Connection> readFromReplica(ReplicationRoutingConnectionFactory routing, long minLsn) {
+        return Mono.<Connection>from(routing.create())
+                .contextWrite(ctx -> ctx.put(ROUTE_KEY, ROUTE_REPLICA)
+                        .put(CONSISTENCY_SESSION_KEY, new ConsistencySession(minLsn)));
+    }
+
+    @Test
+    void usesPrimaryOutsideReplicaRoute() {
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(
+                primaryFactory, List.of(replica("r1", mock(Connection.class), 100)));
+
+        StepVerifier.create(Mono.<Connection>from(routing.create())).expectNext(primary).verifyComplete();
+    }
+
+    @Test
+    void skipsUnhealthyReplicas() {
+        Connection healthy = mock(Connection.class);
+        ReplicaTarget down = replica("r1", mock(Connection.class), 100);
+        down.markDown();
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(
+                primaryFactory, List.of(down, replica("r2", healthy, 100)));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(readFromReplica(routing, 0)).expectNext(healthy).verifyComplete();
+        }
+    }
+
+    @Test
+    void skipsReplicasBehindTheSessionLsn() {
+        Connection caughtUp = mock(Connection.class);
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(
+                primaryFactory, List.of(replica("r1", mock(Connection.class), 99), replica("r2", caughtUp, 100)));
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(readFromReplica(routing, 100)).expectNext(caughtUp).verifyComplete();
+        }
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaQualifies() {
+        ReplicaTarget down = replica("r1", mock(Connection.class), 500);
+        down.markDown();
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(
+                primaryFactory, List.of(down, replica("r2", mock(Connection.class), 99)));
+
+        StepVerifier.create(readFromReplica(routing, 100)).expectNext(primary).verifyComplete();
+    }
+
+    @Test
+    void rotatesBetweenEquallyLoadedReplicas() {
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(
+                primaryFactory, List.of(replica("r1", first, 100), replica("r2", second, 100)));
+
+        Connection a = readFromReplica(routing, 0).block();
+        Connection b = readFromReplica(routing, 0).block();
+
+        assertThat(List.of(a, b)).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void connectErrorMarksReplicaDown() {
+        ReplicaTarget broken = new ReplicaTarget("r1",
+                factory(Mono.error(new R2dbcNonTransientResourceException("connection refused"))));
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(primaryFactory, List.of(broken));
+
+        StepVerifier.create(readFromReplica(routing, 0)).expectNext(primary).verifyComplete();
+
+        assertThat(broken.isHealthy()).isFalse();
+    }
+
+    @Test
+    void acquireTimeoutKeepsReplicaInRotation() {
+        ReplicaTarget saturated = new ReplicaTarget("r1",
+                factory(Mono.error(new R2dbcTimeoutException("acquire timed out"))));
+        ReplicationRoutingConnectionFactory routing = new ReplicationRoutingConnectionFactory(primaryFactory, List.of(saturated));
+
+        StepVerifier.create(readFromReplica(routing, 0)).expectNext(primary).verifyComplete();
+
+        assertThat(saturated.isHealthy()).isTrue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.ai.assistant.core.pagination;
+
+import com.ai.assistant.core.error.ApplicationException;
+import com.ai.assistant.core.error.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void roundTripsTimestampWithNanosAndId() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2024-03-01T12:34:56.123456789Z"), 42L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsTimestampBeforeEpoch() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("1969-12-31T23:59:59.5Z"), 7L);
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String token = new KeysetCursor(Instant.ofEpochSecond(1_700_000_000L, 1), Long.MAX_VALUE).encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String wrongShape = Base64.getUrlEncoder().encodeToString("1:2".getBytes(StandardCharsets.UTF_8));
+        String notNumeric = Base64.getUrlEncoder().encodeToString("a:b:c".getBytes(StandardCharsets.UTF_8));
+
+        for (String token : new String[]{"not base64!", wrongShape, notNumeric}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(token))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ai.assistant.core.pagination;
+
+import com.ai.assistant.core.error.ApplicationException;
+import com.ai.assistant.core.error.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageSizeTest {
+
+    @Test
+    void keepsSizesWithinBounds() {
+        assertThat(PageSize.checked(1)).isEqualTo(1);
+        assertThat(PageSize.checked(PageSize.MAX)).isEqualTo(PageSize.MAX);
+    }
+
+    @Test
+    void capsOversizedPages() {
+        assertThat(PageSize.checked(PageSize.MAX + 1)).isEqualTo(PageSize.MAX);
+        assertThat(PageSize.checked(Integer.MAX_VALUE)).isEqualTo(PageSize.MAX);
+    }
+
+    @Test
+    void rejectsEmptyAndNegativeSizes() {
+        for (int size : new int[]{0, -1, Integer.MIN_VALUE}) {
+            assertThatThrownBy(() -> PageSize.checked(size))
+                    .isInstanceOf(ApplicationException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_INPUT);
+        }
+    }
+}
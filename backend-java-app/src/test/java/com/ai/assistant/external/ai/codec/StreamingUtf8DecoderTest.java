@@ -0,0 +1,79 @@
+package com.ai.assistant.external.ai.codec;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingUtf8DecoderTest {
+
+    // one-, two-, three- and four-byte code points
+    private static final String TEXT = "aé€😀b";
+
+    private static DataBuffer buffer(byte[] bytes) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+    }
+
+    @Test
+    void decodesCodePointsSplitAtEveryOffset() {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+
+        for (int split = 0; split <= bytes.length; split++) {
+            StreamingUtf8Decoder decoder = new StreamingUtf8Decoder();
+            String decoded = decoder.decode(buffer(Arrays.copyOfRange(bytes, 0, split)))
+                    + decoder.decode(buffer(Arrays.copyOfRange(bytes, split, bytes.length)))
+                    + decoder.finish();
+
+            assertThat(decoded).as("split at %d", split).isEqualTo(TEXT);
+        }
+    }
+
+    @Test
+    void decodesOneByteChunks() {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        StreamingUtf8Decoder decoder = new StreamingUtf8Decoder();
+        StringBuilder decoded = new StringBuilder();
+
+        for (byte b : bytes) {
+            decoded.append(decoder.decode(buffer(new byte[]{b})));
+        }
+        decoded.append(decoder.finish());
+
+        assertThat(decoded.toString()).isEqualTo(TEXT);
+    }
+
+    @Test
+    void holdsBackIncompleteCodePointUntilNextChunk() {
+        byte[] euro = "€".getBytes(StandardCharsets.UTF_8);
+        StreamingUtf8Decoder decoder = new StreamingUtf8Decoder();
+
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(euro, 0, 2)))).isEmpty();
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(euro, 2, 3)))).isEqualTo("€");
+    }
+
+    @Test
+    void finishFlushesDanglingBytesAsReplacement() {
+        byte[] emoji = "😀".getBytes(StandardCharsets.UTF_8);
+        StreamingUtf8Decoder decoder = new StreamingUtf8Decoder();
+
+        assertThat(decoder.decode(buffer(Arrays.copyOfRange(emoji, 0, 3)))).isEmpty();
+        assertThat(decoder.finish()).isEqualTo("�");
+    }
+
+    @Test
+    void decodeStreamSkipsEmptyChunks() {
+        byte[] bytes = "é".getBytes(StandardCharsets.UTF_8);
+
+        StepVerifier.create(StreamingUtf8Decoder.decode(Flux.just(
+                        buffer(new byte[]{bytes[0]}),
+                        buffer(new byte[]{bytes[1], 'x'}))))
+                .expectNext("éx")
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,194 @@
+package com.ai.assistant.external.redis.cache;
+
+import com.ai.assistant.external.redis.pubsub.RedisTopicSubscriber;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParticipantMembershipCacheTest {
+
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+    private ReactiveHashOperations<String, Object, Object> hashOps;
+    private ReactiveValueOperations<String, String> valueOps;
+    private Sinks.Many<String> invalidations;
+    private ParticipantMembershipCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveRedisTemplate.class);
+        hashOps = mock(ReactiveHashOperations.class);
+        doReturn(hashOps).when(redisTemplate).opsForHash();
+        valueOps = mock(ReactiveValueOperations.class);
+        doReturn(valueOps).when(redisTemplate).opsForValue();
+        when(valueOps.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(hashOps.get(anyString(), any())).thenReturn(Mono.empty());
+        when(hashOps.remove(anyString(), any())).thenReturn(Mono.just(1L));
+        doReturn(Flux.just(1L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        doReturn(Mono.just(1L)).when(redisTemplate).delete(anyString());
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+
+        invalidations = Sinks.many().unicast().onBackpressureBuffer();
+        RedisTopicSubscriber topicSubscriber = mock(RedisTopicSubscriber.class);
+        when(topicSubscriber.messages(any())).thenReturn(invalidations.asFlux());
+
+        cache = new ParticipantMembershipCache(redisTemplate, topicSubscriber, new SimpleMeterRegistry(),
+                100, Duration.ofMinutes(1), Duration.ofSeconds(10), Duration.ofMinutes(10), Duration.ofSeconds(10));
+        cache.subscribe();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.unsubscribe();
+    }
+
+    private static Supplier<Mono<Boolean>> loader(AtomicInteger calls, boolean member) {
+        return () -> Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            return member;
+        });
+    }
+
+    @Test
+    void servesRepeatLookupsFromLocalTier() {
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, true))).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, true))).expectNext(true).verifyComplete();
+
+        assertThat(calls).hasValue(1);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("membership:user:5", "membership:tombstone:user:5", "membership:tombstone:user:5:10")), anyList());
+    }
+
+    @Test
+    void keepsNegativesOutOfRedis() {
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, false))).expectNext(false).verifyComplete();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    void treatsNonMemberValueInRedisAsMiss() {
+        when(hashOps.get("membership:user:5", "10")).thenReturn(Mono.just("0"));
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, true))).expectNext(true).verifyComplete();
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void answersFromRedisWithoutLoading() {
+        when(hashOps.get("membership:user:5", "10")).thenReturn(Mono.just("1"));
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, false))).expectNext(true).verifyComplete();
+
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void evictDropsLocalAndSharedEntryAndBroadcasts() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.isMember(10L, 5L, loader(calls, true)).block();
+
+        StepVerifier.create(cache.evict(10L, 5L)).verifyComplete();
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, false))).expectNext(false).verifyComplete();
+
+        assertThat(calls).hasValue(2);
+        verify(valueOps).set("membership:tombstone:user:5:10", "1", Duration.ofSeconds(10));
+        verify(hashOps).remove("membership:user:5", "10");
+        verify(redisTemplate).convertAndSend("membership:invalidate", "5:10");
+    }
+
+    @Test
+    void loadOverlappingEvictionIsNotCachedLocally() {
+        AtomicInteger calls = new AtomicInteger();
+        // the membership is removed while the loader is still reading the old answer
+        Supplier<Mono<Boolean>> racingLoader = () -> cache.evict(10L, 5L)
+                .then(Mono.fromSupplier(() -> {
+                    calls.incrementAndGet();
+                    return true;
+                }));
+
+        StepVerifier.create(cache.isMember(10L, 5L, racingLoader)).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, false))).expectNext(false).verifyComplete();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void tombstonedSharedWriteIsNotCachedLocally() {
+        doReturn(Flux.just(0L)).when(redisTemplate).execute(any(RedisScript.class), anyList(), anyList());
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, true))).expectNext(true).verifyComplete();
+        StepVerifier.create(cache.isMember(10L, 5L, loader(calls, false))).expectNext(false).verifyComplete();
+
+        assertThat(calls).hasValue(2);
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("membership:user:5", "membership:tombstone:user:5", "membership:tombstone:user:5:10")), anyList());
+    }
+
+    @Test
+    void evictUserDropsOnlyThatUsersEntries() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.isMember(10L, 5L, loader(calls, true)).block();
+        cache.isMember(11L, 5L, loader(calls, true)).block();
+        cache.isMember(10L, 6L, loader(calls, true)).block();
+
+        StepVerifier.create(cache.evictUser(5L)).verifyComplete();
+        cache.isMember(10L, 5L, loader(calls, true)).block();
+        cache.isMember(11L, 5L, loader(calls, true)).block();
+        cache.isMember(10L, 6L, loader(calls, true)).block();
+
+        assertThat(calls).hasValue(5);
+        verify(valueOps).set("membership:tombstone:user:5", "1", Duration.ofSeconds(10));
+        verify(redisTemplate).delete("membership:user:5");
+        verify(redisTemplate).convertAndSend("membership:invalidate", "5");
+    }
+
+    @Test
+    void appliesInvalidationsFromOtherNodes() {
+        AtomicInteger calls = new AtomicInteger();
+        cache.isMember(10L, 5L, loader(calls, true)).block();
+        cache.isMember(10L, 6L, loader(calls, true)).block();
+        cache.isMember(11L, 6L, loader(calls, true)).block();
+
+        invalidations.tryEmitNext("5:10");
+        invalidations.tryEmitNext("6");
+        invalidations.tryEmitNext("garbage");
+        cache.isMember(10L, 5L, loader(calls, true)).block();
+        cache.isMember(10L, 6L, loader(calls, true)).block();
+        cache.isMember(11L, 6L, loader(calls, true)).block();
+
+        assertThat(calls).hasValue(6);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ai.assistant.external.websocket.outbound;
+
+import com.ai.assistant.enums.WebSocketChannelType;
+import com.ai.assistant.enums.WebSocketOverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WebSocketSessionOutboundTest {
+
+    private WebSocketSession session;
+    private Counter dropped;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+        when(session.getAttributes()).thenReturn(new HashMap<>());
+        when(session.bufferFactory()).thenReturn(DefaultDataBufferFactory.sharedInstance);
+        when(session.close(any())).thenReturn(Mono.empty());
+        dropped = new SimpleMeterRegistry().counter("ws.outbound.dropped");
+    }
+
+    private WebSocketSessionOutbound outbound(WebSocketChannelType channel, WebSocketOverflowPolicy policy) {
+        return new WebSocketSessionOutbound(session, channel, 2, policy, dropped);
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestFrames() {
+        WebSocketSessionOutbound outbound = outbound(WebSocketChannelType.CONVERSATION_MESSAGE, WebSocketOverflowPolicy.DROP_OLDEST);
+
+        // subscribed with no demand, like a client that stopped reading
+        StepVerifier.create(outbound.messages().map(WebSocketMessage::getPayloadAsText), 0)
+                .then(() -> {
+                    assertThat(outbound.emit(EncodedFrame.text("a"))).isTrue();
+                    assertThat(outbound.emit(EncodedFrame.text("b"))).isTrue();
+                    assertThat(outbound.emit(EncodedFrame.text("c"))).isTrue();
+                    outbound.close();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("b", "c")
+                .verifyComplete();
+
+        assertThat(dropped.count()).isEqualTo(1d);
+    }
+
+    @Test
+    void batchJoinsQueuedTextFramesIntoOne() {
+        WebSocketSessionOutbound outbound = outbound(WebSocketChannelType.AI_TOKEN_STREAM, WebSocketOverflowPolicy.BATCH);
+
+        StepVerifier.create(outbound.messages().map(WebSocketMessage::getPayloadAsText), 0)
+                .then(() -> {
+                    outbound.emit(EncodedFrame.text("Hel"));
+                    outbound.emit(EncodedFrame.text("lo "));
+                    assertThat(outbound.emit(EncodedFrame.text("world"))).isTrue();
+                    assertThat(outbound.queued()).isEqualTo(1);
+                    outbound.close();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("Hello world")
+                .verifyComplete();
+
+        assertThat(dropped.count()).isZero();
+    }
+
+    @Test
+    void batchDropsOldestForBinaryFrames() {
+        WebSocketSessionOutbound outbound = outbound(WebSocketChannelType.AI_TOKEN_STREAM, WebSocketOverflowPolicy.BATCH);
+
+        StepVerifier.create(outbound.messages().map(message -> message.getPayload().read()), 0)
+                .then(() -> {
+                    outbound.emit(EncodedFrame.binary(new byte[]{1}));
+                    outbound.emit(EncodedFrame.binary(new byte[]{2}));
+                    assertThat(outbound.emit(EncodedFrame.binary(new byte[]{3}))).isTrue();
+                    outbound.close();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext((byte) 2, (byte) 3)
+                .verifyComplete();
+
+        assertThat(dropped.count()).isEqualTo(1d);
+    }
+
+    @Test
+    void errorClosesTheSessionOnOverflow() {
+        WebSocketSessionOutbound outbound = outbound(WebSocketChannelType.CONVERSATION_MESSAGE, WebSocketOverflowPolicy.ERROR);
+
+        StepVerifier.create(outbound.messages().map(WebSocketMessage::getPayloadAsText), 0)
+                .then(() -> {
+                    outbound.emit(EncodedFrame.text("a"));
+                    outbound.emit(EncodedFrame.text("b"));
+                    assertThat(outbound.emit(EncodedFrame.text("c"))).isFalse();
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("a", "b")
+                .verifyError(IllegalStateException.class);
+
+        assertThat(dropped.count()).isEqualTo(1d);
+        verify(session).close(CloseStatus.POLICY_VIOLATION.withReason("Slow consumer"));
+    }
+
+    @Test
+    void emitAfterCloseIsCountedAsDropped() {
+        WebSocketSessionOutbound outbound = outbound(WebSocketChannelType.CONVERSATION_MESSAGE, WebSocketOverflowPolicy.ERROR);
+
+        outbound.close();
+
+        assertThat(outbound.emit(EncodedFrame.text("late"))).isFalse();
+        assertThat(dropped.count()).isEqualTo(1d);
+        assertThat(WebSocketSessionOutbound.of(session)).isNull();
+        verify(session, never()).close(any());
+    }
+}
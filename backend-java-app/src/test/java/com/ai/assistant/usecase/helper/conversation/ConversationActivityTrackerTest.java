@@ -0,0 +1,126 @@
+package com.ai.assistant.usecase.helper.conversation;
+
+import com.ai.assistant.persistence.relational.repository.ConversationActivity;
+import com.ai.assistant.persistence.relational.repository.ConversationRepository;
+import com.ai.assistant.usecase.resilience.wrapper.DbResilienceWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConversationActivityTrackerTest {
+
+    private ConversationRepository repository;
+    private List<List<ConversationActivity>> written;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ConversationRepository.class);
+        written = new ArrayList<>();
+    }
+
+    private ConversationActivityTracker tracker(boolean enabled, int maxBatchSize) {
+        return new ConversationActivityTracker(repository, new DbResilienceWrapper(null, null, null),
+                new SimpleMeterRegistry(), enabled, maxBatchSize, Duration.ofSeconds(5));
+    }
+
+    private void succeedWrites() {
+        when(repository.updateActivityBatch(anyList())).thenAnswer(invocation -> {
+            List<ConversationActivity> batch = invocation.getArgument(0);
+            written.add(List.copyOf(batch));
+            return Mono.just((long) batch.size());
+        });
+    }
+
+    @Test
+    void writesThroughWhenDisabled() {
+        when(repository.updateActivity(1L, 7L)).thenReturn(Mono.empty());
+        ConversationActivityTracker tracker = tracker(false, 10);
+
+        StepVerifier.create(tracker.touch(1L, 7L)).verifyComplete();
+
+        verify(repository).updateActivity(1L, 7L);
+        verify(repository, never()).updateActivityBatch(anyList());
+    }
+
+    @Test
+    void keepsOnlyNewestActivityPerConversationAtServerTime() {
+        succeedWrites();
+        ConversationActivityTracker tracker = tracker(true, 10);
+
+        Instant before = Instant.now();
+        tracker.touch(1L, 7L).block();
+        tracker.touch(1L, 8L).block();
+        tracker.touch(1L, 9L).block();
+        Instant after = Instant.now();
+        StepVerifier.create(tracker.flush()).verifyComplete();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).singleElement().satisfies(activity -> {
+            assertThat(activity.conversationId()).isEqualTo(1L);
+            assertThat(activity.userId()).isEqualTo(9L);
+            assertThat(activity.at()).isBetween(before, after);
+        });
+    }
+
+    @Test
+    void chainsFullBatchesAfterSuccess() {
+        succeedWrites();
+        ConversationActivityTracker tracker = tracker(true, 2);
+        for (long id = 1; id <= 5; id++) {
+            tracker.touch(id, 7L).block();
+        }
+
+        StepVerifier.create(tracker.flush()).verifyComplete();
+        assertThat(written).hasSize(2);
+
+        StepVerifier.create(tracker.flush()).verifyComplete();
+        assertThat(written).hasSize(3);
+        assertThat(written.stream().mapToInt(List::size).sum()).isEqualTo(5);
+    }
+
+    @Test
+    void requeuesFailedBatchWithoutRetryingInTheSameFlush() {
+        when(repository.updateActivityBatch(anyList())).thenReturn(Mono.error(new IllegalStateException("db down")));
+        ConversationActivityTracker tracker = tracker(true, 2);
+        for (long id = 1; id <= 5; id++) {
+            tracker.touch(id, 7L).block();
+        }
+
+        StepVerifier.create(tracker.flush()).verifyComplete();
+
+        verify(repository).updateActivityBatch(anyList());
+    }
+
+    @Test
+    void newerActivityWinsOverRequeuedBatch() {
+        when(repository.updateActivityBatch(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("db down")))
+                .thenAnswer(invocation -> {
+                    written.add(List.copyOf(invocation.<List<ConversationActivity>>getArgument(0)));
+                    return Mono.just(1L);
+                });
+        ConversationActivityTracker tracker = tracker(true, 10);
+
+        tracker.touch(1L, 7L).block();
+        tracker.flush().block();
+        tracker.touch(1L, 8L).block();
+        tracker.flush().block();
+
+        assertThat(written).hasSize(1);
+        assertThat(written.get(0)).extracting(ConversationActivity::userId).containsExactly(8L);
+    }
+}
@@ -0,0 +1,174 @@
+package com.ai.assistant.usecase.helper.message;
+
+import com.ai.assistant.enums.RecipientType;
+import com.ai.assistant.enums.WriteBehindDurability;
+import com.ai.assistant.persistence.relational.entity.Message;
+import com.ai.assistant.persistence.relational.repository.MessageRepository;
+import com.ai.assistant.usecase.helper.conversation.ConversationActivityTracker;
+import com.ai.assistant.usecase.resilience.wrapper.DbResilienceWrapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MessageWriteBehindBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private MessageRepository repository;
+    private ConversationActivityTracker activityTracker;
+    private MessageWriteBehindProperties properties;
+    private List<List<Message>> inserted;
+    private MessageWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MessageRepository.class);
+        activityTracker = mock(ConversationActivityTracker.class);
+        when(activityTracker.touch(anyLong(), anyLong())).thenReturn(Mono.empty());
+        inserted = new ArrayList<>();
+
+        properties = new MessageWriteBehindProperties();
+        properties.setEnabled(true);
+        // flushes are driven by full batches and stop() only
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setRetryBackoff(Duration.ofHours(1));
+        properties.setMaxRetryBackoff(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    private MessageWriteBehindBuffer start(int maxBatchSize, WriteBehindDurability durability) {
+        properties.setMaxBatchSize(maxBatchSize);
+        properties.setDurability(durability);
+        buffer = new MessageWriteBehindBuffer(repository, activityTracker, new DbResilienceWrapper(null, null, null),
+                properties, new SimpleMeterRegistry());
+        buffer.start();
+        return buffer;
+    }
+
+    private Mono<Long> record(List<Message> batch) {
+        inserted.add(List.copyOf(batch));
+        return Mono.just((long) batch.size());
+    }
+
+    private static Message message(long conversationId, long senderId, LocalDateTime sendDate, RecipientType recipient) {
+        Message message = new Message();
+        message.setConversationId(conversationId);
+        message.setSenderId(senderId);
+        message.setSendDate(sendDate);
+        message.setRecipient(recipient);
+        return message;
+    }
+
+    @Test
+    void queuedMessagesAreFlushedOnStopWithOneTouchPerConversation() {
+        when(repository.insertBatch(anyList())).thenAnswer(invocation -> record(invocation.getArgument(0)));
+        start(10, WriteBehindDurability.QUEUED);
+
+        Message first = message(1L, 7L, T0, RecipientType.USERS);
+        Message newest = message(1L, 8L, T0.plusSeconds(5), RecipientType.USERS);
+        Message other = message(2L, 9L, T0, RecipientType.USERS);
+        StepVerifier.create(buffer.save(first)).verifyComplete();
+        StepVerifier.create(buffer.save(newest)).verifyComplete();
+        StepVerifier.create(buffer.save(other)).verifyComplete();
+        assertThat(inserted).isEmpty();
+
+        buffer.stop();
+        buffer = null;
+
+        assertThat(inserted).containsExactly(List.of(first, newest, other));
+        verify(activityTracker).touch(1L, 8L);
+        verify(activityTracker).touch(2L, 9L);
+        verify(activityTracker, never()).touch(1L, 7L);
+    }
+
+    @Test
+    void flushedDurabilityWaitsForTheInsert() {
+        when(repository.insertBatch(anyList())).thenAnswer(invocation -> record(invocation.getArgument(0)));
+        start(1, WriteBehindDurability.FLUSHED);
+
+        StepVerifier.create(buffer.save(message(1L, 7L, T0, RecipientType.USERS)))
+                .verifyComplete();
+
+        assertThat(inserted).hasSize(1);
+    }
+
+    @Test
+    void aiBoundMessageSurfacesFlushFailureEvenWhenQueued() {
+        when(repository.insertBatch(anyList())).thenReturn(Mono.error(new IllegalStateException("db down")));
+        start(1, WriteBehindDurability.QUEUED);
+
+        StepVerifier.create(buffer.save(message(1L, 7L, T0, RecipientType.AI)))
+                .expectErrorMessage("db down")
+                .verify(Duration.ofSeconds(5));
+        verify(activityTracker, never()).touch(anyLong(), anyLong());
+    }
+
+    @Test
+    void failedQueuedBatchIsRetriedAheadOfNewerMessages() {
+        when(repository.insertBatch(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("db down")))
+                .thenAnswer(invocation -> record(invocation.getArgument(0)));
+        start(1, WriteBehindDurability.QUEUED);
+
+        Message failed = message(1L, 7L, T0, RecipientType.USERS);
+        Message later = message(1L, 8L, T0.plusSeconds(1), RecipientType.USERS);
+        StepVerifier.create(buffer.save(failed)).verifyComplete();
+        // the retry is still backing off, so this one stays queued behind it
+        StepVerifier.create(buffer.save(later)).verifyComplete();
+        assertThat(inserted).isEmpty();
+
+        buffer.stop();
+        buffer = null;
+
+        assertThat(inserted).containsExactly(List.of(failed), List.of(later));
+    }
+
+    @Test
+    void batchThatKeepsFailingIsWrittenRowByRowAndRejectedRowDropped() {
+        Message bad = message(1L, 7L, T0, RecipientType.USERS);
+        when(repository.insertBatch(anyList())).thenAnswer(invocation -> {
+            List<Message> batch = invocation.getArgument(0);
+            return batch.stream().anyMatch(m -> m == bad)
+                    ? Mono.error(new DataIntegrityViolationException("null value in column"))
+                    : record(batch);
+        });
+        properties.setMaxRetryAttempts(1);
+        start(2, WriteBehindDurability.QUEUED);
+
+        Message good = message(2L, 8L, T0, RecipientType.USERS);
+        Message later = message(3L, 9L, T0, RecipientType.USERS);
+        StepVerifier.create(buffer.save(bad)).verifyComplete();
+        StepVerifier.create(buffer.save(good)).verifyComplete();
+        StepVerifier.create(buffer.save(later)).verifyComplete();
+        assertThat(inserted).isEmpty();
+
+        buffer.stop();
+        buffer = null;
+
+        assertThat(inserted).containsExactly(List.of(good), List.of(later));
+        verify(activityTracker, never()).touch(1L, 7L);
+    }
+}